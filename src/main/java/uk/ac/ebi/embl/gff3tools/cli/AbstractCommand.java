@@ -125,15 +125,17 @@ public abstract class AbstractCommand implements Runnable {
      * Builds a list of {@link FileSequenceSource} instances from the parsed {@code --sequence} specs.
      * Returns an empty list if no specs are provided. Sources are created but not yet initialized.
      */
-    protected List<FileSequenceSource> buildFastaSourceList(List<String> sequenceSpecs, SequenceFormat sequenceFormat) {
+    protected List<FileSequenceSource> buildFastaSourceList(SequenceOptions sequenceOptions) {
+        List<String> sequenceSpecs = sequenceOptions.sequenceSpecs;
         if (sequenceSpecs == null || sequenceSpecs.isEmpty()) {
             return List.of();
         }
         List<FileSequenceSource> sources = new ArrayList<>();
         for (String spec : sequenceSpecs) {
             ParsedSequenceSpec parsed = parseSequenceSpec(spec);
-            SequenceFormat resolvedFormat = resolveSequenceFormat(parsed.path(), sequenceFormat);
-            sources.add(new FileSequenceSource(parsed.path(), resolvedFormat, parsed.key()));
+            SequenceFormat resolvedFormat = resolveSequenceFormat(parsed.path(), sequenceOptions.sequenceFormat);
+            sources.add(new FileSequenceSource(
+                    parsed.path(), resolvedFormat, parsed.key(), sequenceOptions.memoryMapped));
         }
         return sources;
     }
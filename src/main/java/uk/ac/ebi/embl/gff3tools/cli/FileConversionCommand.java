@@ -13,6 +13,7 @@ package uk.ac.ebi.embl.gff3tools.cli;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -39,6 +40,7 @@ import uk.ac.ebi.embl.gff3tools.metadata.MasterMetadataProvider;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
 import uk.ac.ebi.embl.gff3tools.sequence.fasta.header.FastaHeaderProvider;
 import uk.ac.ebi.embl.gff3tools.tsvconverter.TSVToGFF3Converter;
+import uk.ac.ebi.embl.gff3tools.utils.AsyncGzipOutputStream;
 import uk.ac.ebi.embl.gff3tools.utils.GzipUtils;
 import uk.ac.ebi.embl.gff3tools.validation.ContextProvider;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
@@ -56,6 +58,11 @@ public class FileConversionCommand extends AbstractCommand {
     private static final Set<String> GAP_TYPES_REQUIRING_LINKAGE =
             Set.of("within scaffold", "repeat within scaffold", "contamination");
 
+    static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+    // Characters are encoded in small batches, so a larger character buffer gains little.
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
     @CommandLine.Option(names = "-f", description = "The type of the input file to be converted")
     public ConversionFileFormat fromFileType;
 
@@ -90,6 +97,24 @@ public class FileConversionCommand extends AbstractCommand {
                     + "only). Only valid with a gap_type that requires it (e.g. \"within scaffold\").")
     public String linkageEvidence;
 
+    @CommandLine.Option(
+            names = {"--threads", "-th"},
+            description = "Number of worker threads for conversions that can run in parallel "
+                    + "(EMBL to GFF3, GFF3 to EMBL and FASTA to GFF3). Output is the same for any value. "
+                    + "GFF3 to EMBL converts one entry at a time with --fail-fast. Default: ${DEFAULT-VALUE}.")
+    public int threads = 1;
+
+    @CommandLine.Option(
+            names = {"--output-buffer-size", "-obs"},
+            description = "Size in bytes of the output buffer. Default: ${DEFAULT-VALUE}.")
+    public int outputBufferSize = DEFAULT_OUTPUT_BUFFER_SIZE;
+
+    @CommandLine.Option(
+            names = {"--gzip-output", "-z"},
+            description = "Gzip-compress the output on a separate thread. "
+                    + "Implied when the output file name ends in .gz.")
+    public boolean gzipOutput;
+
     @CommandLine.Parameters(
             paramLabel = "[output-file]",
             defaultValue = "",
@@ -119,13 +144,19 @@ public class FileConversionCommand extends AbstractCommand {
 
             final Path effectiveOutputPath = writingToFile ? tempFile : null;
 
+            if (outputBufferSize <= 0) {
+                throw new CLIException("--output-buffer-size must be a positive number of bytes");
+            }
+            if (threads <= 0) {
+                throw new CLIException("--threads must be a positive number");
+            }
+
             // Resolve formats up front so the input FASTA can be registered as a sequence source
             // before the engine providers are built.
             fromFileType = validateFileType(fromFileType, inputFilePath, "-f");
             toFileType = validateFileType(toFileType, outputFilePath, "-t");
 
-            List<FileSequenceSource> sources = new ArrayList<>(
-                    buildFastaSourceList(sequenceOptions.sequenceSpecs, sequenceOptions.sequenceFormat));
+            List<FileSequenceSource> sources = new ArrayList<>(buildFastaSourceList(sequenceOptions));
 
             // For FASTA -> GFF3, register the input FASTA as a sequence source so the engine gains
             // its sequence/header context (read once) and the same sequence/annotation/fasta-header
@@ -142,7 +173,7 @@ public class FileConversionCommand extends AbstractCommand {
                             + "plain sequence input (--sequence-format plain) has no sequence ID to emit.");
                 }
                 // FileSequenceSource will decompress a gzipped input automatically.
-                inputFastaSource = new FileSequenceSource(inputFilePath, fmt, null);
+                inputFastaSource = new FileSequenceSource(inputFilePath, fmt, null, sequenceOptions.memoryMapped);
                 sources.add(inputFastaSource);
             }
 
@@ -158,7 +189,7 @@ public class FileConversionCommand extends AbstractCommand {
                             ? new BufferedReader(new StringReader(""))
                             : createInputReader();
                     BufferedWriter outputWriter =
-                            writingToFile ? Files.newBufferedWriter(effectiveOutputPath) : createStdoutWriter()) {
+                            writingToFile ? createFileWriter(effectiveOutputPath) : createStdoutWriter()) {
                 SequenceLookup sequenceLookup = compositeProvider.hasSources() ? compositeProvider.get(null) : null;
                 // The header provider self-skips when it carries no header source (see
                 // FastaHeaderProvider#isActive), so an empty one never lands on the context and
@@ -221,11 +252,33 @@ public class FileConversionCommand extends AbstractCommand {
         }
     }
 
-    private BufferedWriter createStdoutWriter() {
+    private BufferedWriter createFileWriter(Path path) throws IOException {
+        OutputStream out = wrapOutputStream(Files.newOutputStream(path));
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+    }
+
+    private BufferedWriter createStdoutWriter() throws IOException {
         // Suppress INFO/WARN logs while writing to stdout to avoid mixing log output with file content
         LoggerContext ctx = (LoggerContext) LoggerFactory.getILoggerFactory();
         ctx.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.ERROR);
-        return new BufferedWriter(new OutputStreamWriter(System.out));
+        return new BufferedWriter(new OutputStreamWriter(wrapOutputStream(System.out)), WRITER_BUFFER_SIZE);
+    }
+
+    /**
+     * Buffers the output in large blocks so the converters' many small writes reach the file or
+     * pipe in few system calls. Gzip output is compressed on a separate thread, so deflating
+     * overlaps with the conversion instead of adding to it.
+     */
+    private OutputStream wrapOutputStream(OutputStream out) throws IOException {
+        if (isGzipOutput()) {
+            log.debug("Writing gzip-compressed output");
+            return new AsyncGzipOutputStream(out, outputBufferSize);
+        }
+        return new BufferedOutputStream(out, outputBufferSize);
+    }
+
+    private boolean isGzipOutput() {
+        return gzipOutput || outputFilePath.toString().toLowerCase().endsWith(".gz");
     }
 
     /**
@@ -243,9 +296,11 @@ public class FileConversionCommand extends AbstractCommand {
             if (gzipped) {
                 log.debug("Detected gzip-compressed input file");
                 return new BufferedReader(
-                        new InputStreamReader(new GZIPInputStream(Files.newInputStream(inputFilePath))));
+                        new InputStreamReader(
+                                new GZIPInputStream(Files.newInputStream(inputFilePath), INPUT_BUFFER_SIZE)),
+                        INPUT_BUFFER_SIZE);
             }
-            return new BufferedReader(new InputStreamReader(Files.newInputStream(inputFilePath)));
+            return new BufferedReader(new InputStreamReader(Files.newInputStream(inputFilePath)), INPUT_BUFFER_SIZE);
         } catch (IOException e) {
             throw new ReadException("Error opening file: " + inputFilePath, e);
         }
@@ -259,16 +314,17 @@ public class FileConversionCommand extends AbstractCommand {
             SequenceLookup sequenceLookup)
             throws FormatSupportException, CLIException {
         if (inputFileType == ConversionFileFormat.gff3 && outputFileType == ConversionFileFormat.embl) {
-            return new Gff3ToFFConverter(engine, inputFilePath, sequenceLookup);
+            return new Gff3ToFFConverter(engine, inputFilePath, sequenceLookup, threads);
         } else if (inputFileType == ConversionFileFormat.embl && outputFileType == ConversionFileFormat.gff3) {
             // Master metadata (from -m) is registered on the engine via buildMetadataProvider
-            return new FFToGff3Converter(engine);
+            return new FFToGff3Converter(engine, threads);
         } else if (inputFileType == ConversionFileFormat.tsv && outputFileType == ConversionFileFormat.gff3) {
             // TSV to GFF3 conversion using sequencetools template processing
             return new TSVToGFF3Converter(engine, fastaOutputPath);
         } else if (inputFileType == ConversionFileFormat.fasta && outputFileType == ConversionFileFormat.gff3) {
             // inputFastaSource is the same source registered on the engine, so the FASTA is read once.
-            return new FastaToGff3Converter(engine, inputFastaSource, minGapLength, gapType, linkageEvidence);
+            return new FastaToGff3Converter(
+                    engine, inputFastaSource, minGapLength, gapType, linkageEvidence, threads);
         } else {
             throw new FormatSupportException(fromFileType, toFileType);
         }
@@ -45,4 +45,13 @@ public class SequenceOptions {
                     + "covered by --sequence FASTA headers. Not a metadata source — use "
                     + "--master-entry for metadata.")
     public Path fastaHeaderPath;
+
+    @CommandLine.Option(
+            names = "--memory-mapped-sequence",
+            description = "Memory-map uncompressed FASTA --sequence files (and the FASTA input of a "
+                    + "FASTA to GFF3 conversion) and serve sequence slices directly from the page cache. "
+                    + "Gzipped files are decompressed to a temporary file first. Falls back to stream "
+                    + "reads for irregularly wrapped records. FASTA to GFF3 only scans sequences on "
+                    + "several --threads when this is set.")
+    public boolean memoryMapped;
 }
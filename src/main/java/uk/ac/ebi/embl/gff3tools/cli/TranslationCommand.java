@@ -12,26 +12,34 @@ package uk.ac.ebi.embl.gff3tools.cli;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import picocli.CommandLine;
 import uk.ac.ebi.embl.gff3tools.Gff3ProviderFactory;
 import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
+import uk.ac.ebi.embl.gff3tools.exception.WriteException;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
-import uk.ac.ebi.embl.gff3tools.gff3.GFF3File;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
+import uk.ac.ebi.embl.gff3tools.gff3.TranslationKey;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
 import uk.ac.ebi.embl.gff3tools.gff3.writer.TranslationWriter;
+import uk.ac.ebi.embl.gff3tools.translation.TranslationCache;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
 import uk.ac.ebi.embl.gff3tools.validation.meta.RuleSeverity;
 import uk.ac.ebi.embl.gff3tools.validation.provider.CompositeSequenceProvider;
 import uk.ac.ebi.embl.gff3tools.validation.provider.FileSequenceSource;
+import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationCacheProvider;
 import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
 
 @CommandLine.Command(
@@ -55,6 +63,13 @@ public class TranslationCommand extends AbstractCommand {
             description = "Output file path. Defaults to <input-stem>.translated.gff3 or .translation.fasta")
     public Path outputPath;
 
+    @CommandLine.Option(
+            names = "--translation-cache-size",
+            description = "Cache up to this many CDS translations, keyed by nucleotide sequence and "
+                    + "translation settings, so repeated CDS sequences are translated once (default: 0, off)",
+            defaultValue = "0")
+    public int translationCacheSize;
+
     @Override
     public void run() {
         Map<String, RuleSeverity> ruleOverrides = getRuleOverrides();
@@ -63,19 +78,22 @@ public class TranslationCommand extends AbstractCommand {
         }
 
         try {
-            List<FileSequenceSource> sources =
-                    buildFastaSourceList(sequenceOptions.sequenceSpecs, sequenceOptions.sequenceFormat);
+            List<FileSequenceSource> sources = buildFastaSourceList(sequenceOptions);
             CompositeSequenceProvider compositeProvider = Gff3ProviderFactory.buildCompositeProvider(sources);
             if (!compositeProvider.hasSources()) {
                 throw new RuntimeException(
                         "A sequence source is required. Provide --sequence or ensure a plugin supplies sequences.");
             }
 
-            List<GFF3Annotation> annotations = new ArrayList<>();
-            GFF3Header header;
-            TranslationState translationState = null;
+            try (ValidationEngine validationEngine = initValidationEngine(
+                            ruleOverrides, compositeProvider, new TranslationCacheProvider(translationCacheSize));
+                    TranslationOutput output = openOutput()) {
 
-            try (ValidationEngine validationEngine = initValidationEngine(ruleOverrides, compositeProvider)) {
+                TranslationState translationState = validationEngine.getContext().contains(TranslationState.class)
+                        ? validationEngine.getContext().get(TranslationState.class)
+                        : null;
+                // Accessions whose annotations have been written; their translations can no longer change.
+                Set<String> writtenAccessions = new HashSet<>();
 
                 try (BufferedReader inputReader = getPipe(
                                 Files::newBufferedReader,
@@ -83,9 +101,18 @@ public class TranslationCommand extends AbstractCommand {
                                 inputFilePath);
                         GFF3FileReader gff3Reader = new GFF3FileReader(validationEngine, inputReader, inputFilePath)) {
 
-                    header = gff3Reader.readHeader();
+                    output.writeHeader(gff3Reader.readHeader());
                     gff3Reader.read(annotation -> {
-                        annotations.add(annotation);
+                        if (annotation != null) {
+                            output.writeAnnotation(annotation);
+                            for (GFF3Feature feature : annotation.getFeaturesView()) {
+                                writtenAccessions.add(feature.accession());
+                            }
+                            drainTranslations(
+                                    translationState,
+                                    key -> writtenAccessions.contains(TranslationKey.accessionOf(key)),
+                                    output);
+                        }
                         List<ValidationException> warnings = validationEngine.getParsingWarnings();
                         if (warnings != null && !warnings.isEmpty()) {
                             for (ValidationException e : warnings) {
@@ -104,24 +131,28 @@ public class TranslationCommand extends AbstractCommand {
                     }
                 }
 
-                if (validationEngine.getContext().contains(TranslationState.class)) {
-                    translationState = validationEngine.getContext().get(TranslationState.class);
+                if (validationEngine.getContext().contains(TranslationCache.class)) {
+                    TranslationCache cache = validationEngine.getContext().get(TranslationCache.class);
+                    log.info("Translation cache: {} hit(s), {} miss(es)", cache.getHits(), cache.getMisses());
                 }
-            }
 
-            writeOutput(annotations, header, translationState);
+                drainTranslations(translationState, key -> true, output);
+                output.commit();
+            }
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
 
-    private void writeOutput(List<GFF3Annotation> annotations, GFF3Header header, TranslationState translationState)
-            throws Exception {
-        switch (translationMode) {
-            case attribute -> log.info("Translation mode 'attribute': translations set as in-memory attributes only.");
-            case fasta -> writeFastaOutput(translationState);
-            case gff3_fasta -> writeGff3FastaOutput(annotations, header, translationState);
-        }
+    private TranslationOutput openOutput() throws IOException {
+        return switch (translationMode) {
+            case attribute -> {
+                log.info("Translation mode 'attribute': translations set as in-memory attributes only.");
+                yield new TranslationOutput(null, false);
+            }
+            case fasta -> new TranslationOutput(resolveOutputPath(".translation.fasta"), false);
+            case gff3_fasta -> new TranslationOutput(resolveOutputPath(".translated.gff3"), true);
+        };
     }
 
     private Path resolveOutputPath(String suffix) {
@@ -135,41 +166,114 @@ public class TranslationCommand extends AbstractCommand {
         return parent.resolve(stem + suffix);
     }
 
-    private void writeFastaOutput(TranslationState translationState) throws Exception {
-        Path outPath = resolveOutputPath(".translation.fasta");
-        try (BufferedWriter writer = Files.newBufferedWriter(outPath)) {
-            writeFastaFromTranslationState(writer, translationState);
+    /**
+     * Hands completed translations to the output and drops them from the state, so proteins are
+     * not held on the heap for the rest of the run.
+     */
+    private void drainTranslations(
+            TranslationState translationState, Predicate<String> complete, TranslationOutput output) {
+        if (translationState == null) {
+            return;
         }
-        log.info("Translation FASTA written to: {}", outPath);
+        translationState.drainResolved(complete, output::writeTranslation);
     }
 
-    private void writeGff3FastaOutput(
-            List<GFF3Annotation> annotations, GFF3Header header, TranslationState translationState) throws Exception {
-        Path outPath = resolveOutputPath(".translated.gff3");
+    /**
+     * Destination of a translate run, written as annotations are read.
+     *
+     * <p>Output goes to a partial file next to the target, which replaces the target only on
+     * {@link #commit()}; a failed run leaves no truncated output behind. In gff3-fasta mode the
+     * features are written directly and translations are spilled to a temporary file that becomes
+     * the trailing {@code ##FASTA} section. In fasta mode translations are written directly. With no
+     * target (attribute mode) everything is discarded.
+     */
+    private static final class TranslationOutput implements AutoCloseable {
 
-        GFF3File gff3File = GFF3File.builder()
-                .header(header)
-                .annotations(annotations)
-                .translationState(translationState)
-                .build();
+        private final Path target;
+        private final Path partial;
+        private final BufferedWriter writer;
+        private final Path spill;
+        private final BufferedWriter spillWriter;
+        private final boolean gff3;
+        private int translationCount;
+        private boolean committed;
 
-        try (BufferedWriter outputWriter = Files.newBufferedWriter(outPath)) {
-            gff3File.writeGFF3String(outputWriter);
+        private TranslationOutput(Path target, boolean gff3) throws IOException {
+            this.target = target;
+            this.gff3 = gff3;
+            if (target == null) {
+                this.partial = null;
+                this.writer = null;
+                this.spill = null;
+                this.spillWriter = null;
+                return;
+            }
+            Path parent = Optional.ofNullable(target.toAbsolutePath().getParent()).orElse(Path.of("."));
+            this.partial = Files.createTempFile(parent, target.getFileName().toString(), ".partial");
+            this.writer = Files.newBufferedWriter(partial);
+            this.spill = gff3 ? Files.createTempFile("translations", ".fasta") : null;
+            this.spillWriter = gff3 ? Files.newBufferedWriter(spill) : null;
         }
-        log.info("GFF3 with FASTA section written to: {}", outPath);
-    }
 
-    private void writeFastaFromTranslationState(BufferedWriter writer, TranslationState translationState) {
-        if (translationState == null) {
-            return;
+        void writeHeader(GFF3Header header) throws WriteException {
+            if (gff3 && header != null) {
+                header.writeGFF3String(writer);
+            }
+        }
+
+        void writeAnnotation(GFF3Annotation annotation) throws WriteException {
+            if (gff3) {
+                annotation.writeGFF3String(writer);
+            }
         }
-        translationState.forEachResolved((key, translation) -> {
+
+        void writeTranslation(String key, String translation) {
+            if (target == null) {
+                return;
+            }
+            TranslationWriter.writeTranslation(gff3 ? spillWriter : writer, key, translation);
+            translationCount++;
+        }
+
+        void commit() throws IOException {
+            if (target == null) {
+                return;
+            }
+            if (gff3) {
+                spillWriter.close();
+                if (translationCount > 0) {
+                    writer.write("##FASTA\n");
+                    try (BufferedReader spilled = Files.newBufferedReader(spill)) {
+                        spilled.transferTo(writer);
+                    }
+                    log.info("Written {} translation sequences from TranslationState", translationCount);
+                    writer.write("\n");
+                }
+            }
+            writer.close();
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            log.info(gff3 ? "GFF3 with FASTA section written to: {}" : "Translation FASTA written to: {}", target);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target == null) {
+                return;
+            }
             try {
-                TranslationWriter.writeTranslation(writer, key, translation);
-            } catch (Exception e) {
-                throw new RuntimeException(
-                        "Failed to write translation for key '%s': %s".formatted(key, e.getMessage()), e);
+                writer.close();
+                if (spillWriter != null) {
+                    spillWriter.close();
+                }
+            } finally {
+                if (spill != null) {
+                    Files.deleteIfExists(spill);
+                }
+                if (!committed) {
+                    Files.deleteIfExists(partial);
+                }
             }
-        });
+        }
     }
 }
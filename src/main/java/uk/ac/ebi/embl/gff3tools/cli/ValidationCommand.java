@@ -44,8 +44,7 @@ public class ValidationCommand extends AbstractCommand {
         Map<String, RuleSeverity> ruleOverrides = getRuleOverrides();
 
         try {
-            List<FileSequenceSource> sources =
-                    buildFastaSourceList(sequenceOptions.sequenceSpecs, sequenceOptions.sequenceFormat);
+            List<FileSequenceSource> sources = buildFastaSourceList(sequenceOptions);
             CompositeSequenceProvider compositeProvider = Gff3ProviderFactory.buildCompositeProvider(sources);
 
             try (ValidationEngine validationEngine = initValidationEngine(ruleOverrides, compositeProvider)) {
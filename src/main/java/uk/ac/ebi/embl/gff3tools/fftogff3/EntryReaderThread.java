@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.fftogff3;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import uk.ac.ebi.embl.api.entry.Entry;
+import uk.ac.ebi.embl.flatfile.reader.embl.EmblEntryReader;
+import uk.ac.ebi.embl.gff3tools.exception.ReadException;
+
+/**
+ * Parses entries on a background thread, keeping at most {@code capacity} parsed entries ahead of
+ * the consumer. Entries are handed over in file order. A parse error ends the entries like the end
+ * of the input does, and is rethrown by {@link #throwIfFailed}.
+ */
+final class EntryReaderThread implements AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private record Failure(Exception exception) {}
+
+    private final BlockingQueue<Object> queue;
+    private final Thread thread;
+    private boolean done;
+    private Failure failure;
+
+    EntryReaderThread(EmblEntryReader entryReader, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(() -> readAll(entryReader), "embl-reader");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void readAll(EmblEntryReader entryReader) {
+        try {
+            while (entryReader.read() != null && entryReader.isEntry()) {
+                queue.put(entryReader.getEntry());
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            // The consumer has gone away.
+        } catch (IOException | RuntimeException e) {
+            try {
+                queue.put(new Failure(e));
+            } catch (InterruptedException ignored) {
+                // The consumer has gone away.
+            }
+        }
+    }
+
+    /** Waits for the next entry; returns {@code null} once the entries have run out. */
+    Entry take() throws ReadException {
+        if (done) {
+            return null;
+        }
+        try {
+            return unwrap(queue.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadException("Interrupted while reading entries");
+        }
+    }
+
+    /** Returns the next entry if one has already been parsed, otherwise {@code null}. */
+    Entry poll() {
+        return done ? null : unwrap(queue.poll());
+    }
+
+    /** True once {@link #take} or {@link #poll} has run out of entries. */
+    boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Rethrows the error that ended parsing, if any. Call once the entries taken so far have been
+     * dealt with, so that the error is reported after them.
+     */
+    void throwIfFailed() throws ReadException {
+        if (failure == null) {
+            return;
+        }
+        if (failure.exception() instanceof IOException ioException) {
+            throw new ReadException(ioException);
+        }
+        throw (RuntimeException) failure.exception();
+    }
+
+    private Entry unwrap(Object item) {
+        if (item == END) {
+            done = true;
+            return null;
+        } else if (item instanceof Failure parseFailure) {
+            done = true;
+            failure = parseFailure;
+            return null;
+        }
+        return (Entry) item;
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+    }
+}
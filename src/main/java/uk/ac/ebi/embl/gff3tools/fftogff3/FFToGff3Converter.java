@@ -16,7 +16,6 @@ import uk.ac.ebi.embl.flatfile.reader.ReaderOptions;
 import uk.ac.ebi.embl.flatfile.reader.embl.EmblEntryReader;
 import uk.ac.ebi.embl.gff3tools.Converter;
 import uk.ac.ebi.embl.gff3tools.exception.*;
-import uk.ac.ebi.embl.gff3tools.gff3.*;
 import uk.ac.ebi.embl.gff3tools.metadata.MasterMetadata;
 import uk.ac.ebi.embl.gff3tools.metadata.MasterMetadataProvider;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
@@ -25,9 +24,19 @@ import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
 public class FFToGff3Converter implements Converter {
 
     private final ValidationEngine validationEngine;
+    private final int threads;
 
     public FFToGff3Converter(ValidationEngine validationEngine) {
+        this(validationEngine, 1);
+    }
+
+    /**
+     * @param threads number of threads preparing entries ahead of the writer; with more than one,
+     *     entries are also parsed on a thread of their own. The output does not depend on it.
+     */
+    public FFToGff3Converter(ValidationEngine validationEngine, int threads) {
         this.validationEngine = validationEngine;
+        this.threads = threads;
     }
 
     public void convert(BufferedReader reader, BufferedWriter writer)
@@ -37,8 +46,7 @@ public class FFToGff3Converter implements Converter {
                 new EmblEntryReader(reader, EmblEntryReader.Format.EMBL_FORMAT, "embl_reader", getReaderOptions());
 
         GFF3FileFactory fftogff3 = new GFF3FileFactory(validationEngine);
-        GFF3File file = fftogff3.from(entryReader, resolveMasterMetadata());
-        file.writeGFF3String(writer);
+        fftogff3.write(entryReader, resolveMasterMetadata(), writer, threads);
 
         // Check for collected errors at end of processing
         validationEngine.throwIfErrorsCollected();
@@ -12,13 +12,12 @@ package uk.ac.ebi.embl.gff3tools.fftogff3;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
-import uk.ac.ebi.embl.fastareader.api.SequenceFormatReader;
 import uk.ac.ebi.embl.fastareader.sequenceutils.GapRegion;
 import uk.ac.ebi.embl.gff3tools.Converter;
 import uk.ac.ebi.embl.gff3tools.exception.ReadException;
@@ -27,6 +26,7 @@ import uk.ac.ebi.embl.gff3tools.exception.WriteException;
 import uk.ac.ebi.embl.gff3tools.gff3.*;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3SequenceRegion;
+import uk.ac.ebi.embl.gff3tools.utils.OrderedTaskWindow;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
 import uk.ac.ebi.embl.gff3tools.validation.provider.FileSequenceSource;
 
@@ -51,6 +51,13 @@ import uk.ac.ebi.embl.gff3tools.validation.provider.FileSequenceSource;
  * engine's sequence/annotation/fasta-header validations run over the generated GFF3 exactly as
  * they would for a FASTA+GFF3 submission. The source is owned by the engine (closed when the
  * engine closes) so this converter never opens or closes it itself.
+ *
+ * <p>With more than one thread and a memory-mapped source, sequences are scanned for gaps on a
+ * worker pool while the calling thread builds, validates and writes the annotations in ordinal
+ * order. Only a bounded window of scans runs ahead of the writer, so memory does not grow with the
+ * number of sequences, and gap IDs are assigned by the writing thread, so they are the same as in a
+ * sequential run. A stream-read source serialises every read on its one reader (a second reader
+ * would index the whole file again), so it is always scanned on the calling thread.
  */
 @Slf4j
 public class FastaToGff3Converter implements Converter {
@@ -58,11 +65,15 @@ public class FastaToGff3Converter implements Converter {
     /** Default minimum gap length, matching sequencetools {@code Entry.DEFAULT_MIN_GAP_LENGTH}. */
     public static final int DEFAULT_MIN_GAP_LENGTH = 10;
 
+    /** Scans allowed to run ahead of the writer, per worker thread. */
+    private static final int SCANS_IN_FLIGHT_PER_THREAD = 4;
+
     private final ValidationEngine validationEngine;
     private final FileSequenceSource source;
     private final int minGapLength;
     private final String gapType;
     private final String linkageEvidence;
+    private final int threads;
 
     public FastaToGff3Converter(ValidationEngine validationEngine, FileSequenceSource source, int minGapLength) {
         this(validationEngine, source, minGapLength, null, null);
@@ -74,6 +85,16 @@ public class FastaToGff3Converter implements Converter {
             int minGapLength,
             String gapType,
             String linkageEvidence) {
+        this(validationEngine, source, minGapLength, gapType, linkageEvidence, 1);
+    }
+
+    public FastaToGff3Converter(
+            ValidationEngine validationEngine,
+            FileSequenceSource source,
+            int minGapLength,
+            String gapType,
+            String linkageEvidence,
+            int threads) {
         this.validationEngine = validationEngine;
         this.source = source;
         // Defensive: a run of N is only ever a gap if it has at least one base.
@@ -88,6 +109,7 @@ public class FastaToGff3Converter implements Converter {
         if (this.linkageEvidence != null && this.gapType == null) {
             throw new IllegalArgumentException("linkageEvidence requires a gapType to be supplied");
         }
+        this.threads = Math.max(1, threads);
     }
 
     private static boolean isBlank(String value) {
@@ -102,87 +124,150 @@ public class FastaToGff3Converter implements Converter {
         // shared FileSequenceSource. Triggering initialisation here is a no-op when the engine's
         // providers have already opened the source.
         source.getSeqIdToHeader();
-        SequenceFormatReader formatReader = source.getFormatReader();
+        List<Long> ordinals = source.getFormatReader().getOrderedIds();
 
-        GFF3Header header = new GFF3Header(GFF3Header.DEFAULT_VERSION);
-        List<GFF3Annotation> annotations = new ArrayList<>();
+        // Each sequence's annotation is written as soon as it is built.
+        GFF3StreamWriter gff3Writer = GFF3StreamWriter.builder().writer(writer).build();
+        gff3Writer.writeHeader(new GFF3Header(GFF3Header.DEFAULT_VERSION));
 
         // Build the ordinal -> seqId lookup once (O(n)) instead of scanning the map per ordinal.
         Map<Long, String> ordinalToSeqId = buildOrdinalToSeqId();
 
-        // Gap IDs are unique across the whole document (GFF3 requires unique IDs within a file),
-        // so the counter spans all sequences rather than resetting per sequence.
-        int gapCounter = 0;
-
-        for (long ordinal : formatReader.getOrderedIds()) {
-            String seqId = ordinalToSeqId.getOrDefault(ordinal, source.getSequenceKey());
-            if (seqId == null) {
-                log.warn("No sequence ID found for ordinal {}", ordinal);
-                continue;
+        if (threads > 1 && ordinals.size() > 1 && source.supportsConcurrentScans()) {
+            convertConcurrently(ordinals, ordinalToSeqId, gff3Writer);
+        } else {
+            if (threads > 1) {
+                log.info(
+                        "Scanning {} for gaps on one thread: only memory-mapped sequences are scanned in parallel",
+                        source.getPath());
             }
-
-            long length;
-            List<GapRegion> gaps;
-            try {
-                length = formatReader.getStats(ordinal).totalBases();
-                gaps = formatReader.getGapRegions(ordinal);
-            } catch (Exception e) {
-                throw new ReadException(
-                        "Failed to read sequence for ordinal " + ordinal + ": " + e.getMessage(),
-                        ReadException.wrapAsIOException(e));
+            // Gap IDs are unique across the whole document (GFF3 requires unique IDs within a file),
+            // so the counter spans all sequences rather than resetting per sequence.
+            int gapCounter = 0;
+            for (long ordinal : ordinals) {
+                String seqId = resolveSeqId(ordinalToSeqId, ordinal);
+                if (seqId != null) {
+                    gapCounter = writeSequence(scan(seqId), gapCounter, gff3Writer);
+                }
             }
+        }
+        gff3Writer.close();
 
-            GFF3Annotation annotation = new GFF3Annotation();
-            annotation.setSequenceRegion(new GFF3SequenceRegion(seqId, Optional.empty(), 1, length));
+        // Surface any non-fail-fast errors collected while validating the generated GFF3.
+        validationEngine.throwIfErrorsCollected();
+    }
 
-            for (GapRegion gap : gaps) {
-                // Rule: only runs of N at least minGapLength long are reported as gaps,
-                // matching the INSDC assembly behaviour in sequencetools.
-                if (gap.lengthBases() < minGapLength) {
-                    continue;
-                }
-                String id = gapCounter == 0 ? "gap" : "gap_" + gapCounter;
-                GFF3Feature feature = new GFF3Feature(
-                        Optional.of(id),
-                        Optional.empty(),
-                        seqId,
-                        Optional.empty(),
-                        ".",
-                        "gap",
-                        gap.startBase,
-                        gap.endBase,
-                        ".",
-                        "+",
-                        ".");
-                feature.addAttribute(GFF3Attributes.ATTRIBUTE_ID, id);
-                feature.addAttribute(GFF3Attributes.ESTIMATED_LENGTH, String.valueOf(gap.lengthBases()));
-                // Rule: gap_type/linkage_evidence are not inferable from sequence and are emitted
-                // only when explicitly supplied; otherwise the feature stays a plain INSDC gap.
-                if (gapType != null) {
-                    feature.addAttribute(GFF3Attributes.GAP_TYPE, gapType);
+    /**
+     * Scans sequences on a worker pool, keeping a bounded window of scans ahead of the writer, and
+     * writes them in ordinal order on the calling thread. The validation engine is only ever used
+     * from the calling thread.
+     */
+    private void convertConcurrently(List<Long> ordinals, Map<Long, String> ordinalToSeqId, GFF3StreamWriter gff3Writer)
+            throws ReadException, WriteException, ValidationException {
+        try (OrderedTaskWindow<SequenceScan> window =
+                new OrderedTaskWindow<>(threads, threads * SCANS_IN_FLIGHT_PER_THREAD, "gap-scan")) {
+            int next = 0;
+            int gapCounter = 0;
+            while (next < ordinals.size() || !window.isEmpty()) {
+                while (!window.isFull() && next < ordinals.size()) {
+                    long ordinal = ordinals.get(next++);
+                    String seqId = resolveSeqId(ordinalToSeqId, ordinal);
+                    if (seqId != null) {
+                        window.submit(() -> scan(seqId));
+                    }
                 }
-                if (linkageEvidence != null) {
-                    feature.addAttribute(GFF3Attributes.LINKAGE_EVIDENCE, linkageEvidence);
+                if (!window.isEmpty()) {
+                    gapCounter = writeSequence(awaitScan(window), gapCounter, gff3Writer);
                 }
-                // Run feature-level fixes/validations (e.g. AssemblyGapValidation) over the
-                // generated gap, mirroring the FF->GFF3 path. Generated content has no line number.
-                validationEngine.validate(feature, -1);
-                annotation.addFeature(feature);
-                gapCounter++;
             }
+        }
+    }
 
-            // Run annotation-level fixes/validations over the generated annotation.
-            validationEngine.validate(annotation, -1);
-            annotations.add(annotation);
+    private static SequenceScan awaitScan(OrderedTaskWindow<SequenceScan> window) throws ReadException {
+        try {
+            return window.next();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ReadException readException) {
+                throw readException;
+            }
+            throw new ReadException(
+                    "Failed to read sequence: " + e.getCause().getMessage(), ReadException.wrapAsIOException(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadException("Interrupted while reading sequences");
         }
+    }
 
-        GFF3File file =
-                GFF3File.builder().header(header).annotations(annotations).build();
+    private String resolveSeqId(Map<Long, String> ordinalToSeqId, long ordinal) {
+        String seqId = ordinalToSeqId.getOrDefault(ordinal, source.getSequenceKey());
+        if (seqId == null) {
+            log.warn("No sequence ID found for ordinal {}", ordinal);
+        }
+        return seqId;
+    }
 
-        file.writeGFF3String(writer);
+    /** Reads the length and gap regions of one sequence; safe to call from any thread. */
+    private SequenceScan scan(String seqId) throws ReadException {
+        try {
+            FileSequenceSource.GapScan gapScan = source.scanGaps(seqId);
+            return new SequenceScan(seqId, gapScan.length(), gapScan.gaps());
+        } catch (Exception e) {
+            throw new ReadException(
+                    "Failed to read sequence " + seqId + ": " + e.getMessage(),
+                    ReadException.wrapAsIOException(e));
+        }
+    }
 
-        // Surface any non-fail-fast errors collected while validating the generated GFF3.
-        validationEngine.throwIfErrorsCollected();
+    /**
+     * Builds, validates and writes the annotation of one sequence. Returns the gap counter to use
+     * for the next sequence.
+     */
+    private int writeSequence(SequenceScan scan, int gapCounter, GFF3StreamWriter gff3Writer)
+            throws WriteException, ValidationException {
+        String seqId = scan.seqId();
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setSequenceRegion(new GFF3SequenceRegion(seqId, Optional.empty(), 1, scan.length()));
+
+        for (GapRegion gap : scan.gaps()) {
+            // Rule: only runs of N at least minGapLength long are reported as gaps,
+            // matching the INSDC assembly behaviour in sequencetools.
+            if (gap.lengthBases() < minGapLength) {
+                continue;
+            }
+            String id = gapCounter == 0 ? "gap" : "gap_" + gapCounter;
+            GFF3Feature feature = new GFF3Feature(
+                    Optional.of(id),
+                    Optional.empty(),
+                    seqId,
+                    Optional.empty(),
+                    ".",
+                    "gap",
+                    gap.startBase,
+                    gap.endBase,
+                    ".",
+                    "+",
+                    ".");
+            feature.addAttribute(GFF3Attributes.ATTRIBUTE_ID, id);
+            feature.addAttribute(GFF3Attributes.ESTIMATED_LENGTH, String.valueOf(gap.lengthBases()));
+            // Rule: gap_type/linkage_evidence are not inferable from sequence and are emitted
+            // only when explicitly supplied; otherwise the feature stays a plain INSDC gap.
+            if (gapType != null) {
+                feature.addAttribute(GFF3Attributes.GAP_TYPE, gapType);
+            }
+            if (linkageEvidence != null) {
+                feature.addAttribute(GFF3Attributes.LINKAGE_EVIDENCE, linkageEvidence);
+            }
+            // Run feature-level fixes/validations (e.g. AssemblyGapValidation) over the
+            // generated gap, mirroring the FF->GFF3 path. Generated content has no line number.
+            validationEngine.validate(feature, -1);
+            annotation.addFeature(feature);
+            gapCounter++;
+        }
+
+        // Run annotation-level fixes/validations over the generated annotation.
+        validationEngine.validate(annotation, -1);
+        gff3Writer.writeAnnotation(annotation);
+        return gapCounter;
     }
 
     private Map<Long, String> buildOrdinalToSeqId() {
@@ -194,4 +279,6 @@ public class FastaToGff3Converter implements Converter {
         }
         return ordinalToSeqId;
     }
+
+    private record SequenceScan(String seqId, long length, List<GapRegion> gaps) {}
 }
@@ -16,23 +16,21 @@ import uk.ac.ebi.embl.api.entry.feature.Feature;
 import uk.ac.ebi.embl.api.entry.qualifier.Qualifier;
 import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
 import uk.ac.ebi.embl.gff3tools.utils.ConversionEntry;
+import uk.ac.ebi.embl.gff3tools.utils.ConversionEntryMatcher;
 import uk.ac.ebi.embl.gff3tools.utils.ConversionUtils;
 
 public class FeatureMapping {
 
     public static String getGFF3FeatureName(Feature ffFeature) throws ValidationException {
         String featureName = ffFeature.getName();
-        List<ConversionEntry> mappings = Optional.ofNullable(
-                        ConversionUtils.getFF2GFF3FeatureMap().get(featureName))
-                .orElse(Collections.emptyList());
-
-        return mappings.stream()
-                .filter(entry -> entry.getFeature().equalsIgnoreCase(ffFeature.getName()))
-                .filter(entry -> hasAllQualifiers(ffFeature, entry))
-                .max(Comparator.comparingInt(entry -> entry.getQualifiers().size()))
-                .map(ConversionEntry::getSOTerm)
-                .orElseThrow(() -> new ValidationException(
-                        "There is no SO Term mapping for INSDC feature \"%s\"".formatted(featureName)));
+        ConversionEntryMatcher candidates = ConversionUtils.getFF2GFF3FeatureMatcher(featureName);
+        ConversionEntry match =
+                candidates == null ? null : candidates.bestMatch(name -> qualifierValues(ffFeature, name));
+        if (match == null) {
+            throw new ValidationException(
+                    "There is no SO Term mapping for INSDC feature \"%s\"".formatted(featureName));
+        }
+        return match.getSOTerm();
     }
 
     public static Stream<String> getGFF3FeatureCandidateIdsAndNames(String ffFeatureName) {
@@ -73,27 +71,12 @@ public class FeatureMapping {
         return Optional.ofNullable(ConversionUtils.getFF2GFF3QualifierMap().get(ffQualifierName));
     }
 
-    private static boolean hasAllQualifiers(Feature feature, ConversionEntry conversionEntry) {
-        Map<String, String> requiredQualifiers = conversionEntry.getQualifiers();
-
-        boolean matchesAllQualifiers = true;
-        for (String expectedQualifierName : requiredQualifiers.keySet()) {
-            boolean qualifierMatches = false;
-            for (Qualifier featureQualifier : feature.getQualifiers(expectedQualifierName)) {
-                // When qualifier value is not found the value is considered "true"
-                String qualifierValue = featureQualifier.getValue() == null ? "true" : featureQualifier.getValue();
-                String expectedQualifierValue = requiredQualifiers.get(expectedQualifierName);
-                // Matches exact values or values with wildcards like "transposon*" or "<NAME>"
-                qualifierMatches = ConversionUtils.matchesWildcardValue(expectedQualifierValue, qualifierValue);
-                if (qualifierMatches) {
-                    break;
-                }
-            }
-            matchesAllQualifiers = qualifierMatches;
-            if (!matchesAllQualifiers) {
-                break;
-            }
+    private static List<String> qualifierValues(Feature feature, String qualifierName) {
+        List<String> values = new ArrayList<>();
+        for (Qualifier qualifier : feature.getQualifiers(qualifierName)) {
+            // When qualifier value is not found the value is considered "true"
+            values.add(qualifier.getValue() == null ? "true" : qualifier.getValue());
         }
-        return matchesAllQualifiers;
+        return values;
     }
 }
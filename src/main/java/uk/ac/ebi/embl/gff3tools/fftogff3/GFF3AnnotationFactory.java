@@ -11,7 +11,6 @@
 package uk.ac.ebi.embl.gff3tools.fftogff3;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -26,7 +25,6 @@ import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
 import uk.ac.ebi.embl.gff3tools.gff3.*;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3SequenceRegion;
 import uk.ac.ebi.embl.gff3tools.utils.ConversionUtils;
-import uk.ac.ebi.embl.gff3tools.utils.Gff3Utils;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
 
 public class GFF3AnnotationFactory {
@@ -38,10 +36,18 @@ public class GFF3AnnotationFactory {
     // Base Id ends with _ and digit (e.g. ppk_2)
     static final Pattern incrementIdpattern = Pattern.compile(".*_\\d+$");
 
+    // Values of the partial attribute; copied when added to a feature, so they can be shared.
+    private static final List<String> PARTIAL_START = List.of("start");
+    private static final List<String> PARTIAL_END = List.of("end");
+    private static final List<String> PARTIAL_START_END = List.of("start", "end");
+    private static final List<String> PARTIAL_END_START = List.of("end", "start");
+
     /// Keeps track of all the features belonging to a gene.
     Map<String, List<GFF3Feature>> geneMap;
     /// List of features that do not belong to a gene.
     List<GFF3Feature> nonGeneFeatures;
+    /// Lookups over each gene's features in geneMap, kept up to date as features are added.
+    Map<String, GeneIndex> geneIndexes;
 
     // Map of Id with count, used for incrementing when same id is found.
     Map<String, Integer> idMap = new HashMap<>();
@@ -55,19 +61,39 @@ public class GFF3AnnotationFactory {
     }
 
     public GFF3Annotation from(Entry entry) throws ValidationException {
+        return from(prepare(entry));
+    }
+
+    /**
+     * Does the part of converting an entry that depends on the entry alone: sorting its features
+     * and resolving each feature's GFF3 type and attributes. It does not touch the factory's state
+     * or the validation engine, so entries can be prepared on other threads and then passed to
+     * {@link #from(PreparedEntry)} in order.
+     */
+    public static PreparedEntry prepare(Entry entry) {
+        List<PreparedFeature> features = new ArrayList<>();
+        for (Feature feature : entry.getFeatures().stream().sorted().toList()) {
+
+            if (feature.getName().equalsIgnoreCase("source")) {
+                continue; // early exit
+            }
+            features.add(PreparedFeature.of(feature));
+        }
+        return new PreparedEntry(entry, features);
+    }
+
+    public GFF3Annotation from(PreparedEntry prepared) throws ValidationException {
+        Entry entry = prepared.entry();
 
         geneMap = new LinkedHashMap<>();
         nonGeneFeatures = new ArrayList<>();
+        geneIndexes = new HashMap<>();
 
         String accession = ConversionUtils.getEffectiveAccession(entry);
         LOG.info("Converting entry: {}", accession);
         GFF3SequenceRegion sequenceRegion = directivesFactory.createSequenceRegion(entry);
 
-        for (Feature feature : entry.getFeatures().stream().sorted().toList()) {
-
-            if (feature.getName().equalsIgnoreCase("source")) {
-                continue; // early exit
-            }
+        for (PreparedFeature feature : prepared.features()) {
             buildGeneFeatureMap(sequenceRegion, feature);
         }
 
@@ -125,19 +151,22 @@ public class GFF3AnnotationFactory {
     }
 
     private List<GFF3Feature> transformFeature(
-            GFF3SequenceRegion sequenceRegion, Feature ffFeature, Optional<String> geneName)
+            GFF3SequenceRegion sequenceRegion, PreparedFeature prepared, Optional<String> geneName)
             throws ValidationException {
         List<GFF3Feature> gff3Features = new ArrayList<>();
 
         String source = ".";
         String score = ".";
 
-        String featureName = FeatureMapping.getGFF3FeatureName(ffFeature);
+        prepared.throwIfFailed();
+        Feature ffFeature = prepared.feature();
+        String featureName = prepared.featureName();
 
         Optional<String> id = Optional.of(getIncrementalId(featureName, geneName));
         Optional<String> parentId = getParentFeature(featureName, geneName);
 
-        Map<String, List<String>> baseAttributes = getAttributeMap(ffFeature);
+        // A feature with several gene qualifiers is transformed once per gene, so work on a copy.
+        Map<String, List<String>> baseAttributes = new LinkedHashMap<>(prepared.attributes());
 
         geneName.ifPresent(v -> baseAttributes.put("gene", List.of(v)));
         id.ifPresent(v -> baseAttributes.put("ID", List.of(v)));
@@ -148,13 +177,6 @@ public class GFF3AnnotationFactory {
 
         CompoundLocation<Location> compoundLocation = ffFeature.getLocations();
         for (Location location : compoundLocation.getLocations()) {
-            Map<String, List<String>> attributes = new LinkedHashMap<>(baseAttributes);
-
-            List<String> partiality = getPartiality(location);
-            if (!partiality.isEmpty()) {
-                attributes.put("partial", partiality);
-            }
-
             GFF3Feature gff3Feature = new GFF3Feature(
                     id,
                     parentId,
@@ -166,8 +188,8 @@ public class GFF3AnnotationFactory {
                     location.getEndPosition(),
                     score,
                     getStrand(location, compoundLocation),
-                    getPhase(ffFeature));
-            gff3Feature.addAttributes(attributes);
+                    prepared.phase());
+            addAttributes(gff3Feature, baseAttributes, getPartiality(location));
             validationEngine.validate(gff3Feature, -1);
             gff3Features.add(gff3Feature);
         }
@@ -176,22 +198,33 @@ public class GFF3AnnotationFactory {
     }
 
     public Map<String, List<String>> getAttributeMap(Feature ffFeature) {
-        Map<String, String> qualifierMap = ConversionUtils.getFF2GFF3QualifierMap();
-        Map<String, List<String>> attributes = new LinkedHashMap<>();
-
-        ffFeature.getQualifiers().stream()
-                .filter(q -> !"gene".equals(q.getName()))
-                .forEach(q -> {
-                    String key = qualifierMap.getOrDefault(q.getName(), q.getName());
-                    String value = q.isValue() ? q.getValue() : "true";
-                    Gff3Utils.addAttribute(attributes, key, value);
-                });
-        return attributes;
+        return QualifierMappingPlan.forFeature(ffFeature).map(ffFeature).attributes();
     }
 
-    private void buildGeneFeatureMap(GFF3SequenceRegion sequenceRegion, Feature ffFeature) throws ValidationException {
+    /**
+     * Adds the feature-level attributes and the location's partiality, in the order of a copy of
+     * {@code baseAttributes} with {@code partial} put into it, without making that copy.
+     */
+    private static void addAttributes(
+            GFF3Feature gff3Feature, Map<String, List<String>> baseAttributes, List<String> partiality) {
+        boolean partialAdded = partiality.isEmpty();
+        for (Map.Entry<String, List<String>> attribute : baseAttributes.entrySet()) {
+            if (!partialAdded && GFF3Attributes.PARTIAL.equals(attribute.getKey())) {
+                gff3Feature.addAttributes(GFF3Attributes.PARTIAL, partiality);
+                partialAdded = true;
+            } else {
+                gff3Feature.addAttributes(attribute.getKey(), attribute.getValue());
+            }
+        }
+        if (!partialAdded) {
+            gff3Feature.addAttributes(GFF3Attributes.PARTIAL, partiality);
+        }
+    }
+
+    private void buildGeneFeatureMap(GFF3SequenceRegion sequenceRegion, PreparedFeature ffFeature)
+            throws ValidationException {
 
-        List<Qualifier> genes = ffFeature.getQualifiers(Qualifier.GENE_QUALIFIER_NAME);
+        List<Qualifier> genes = ffFeature.feature().getQualifiers(Qualifier.GENE_QUALIFIER_NAME);
 
         if (genes.isEmpty()) {
             nonGeneFeatures.addAll(transformFeature(sequenceRegion, ffFeature, Optional.empty()));
@@ -201,35 +234,46 @@ public class GFF3AnnotationFactory {
                 String geneName = gene.getValue();
 
                 List<GFF3Feature> gfFeatures = geneMap.getOrDefault(geneName, new ArrayList<>());
+                GeneIndex geneIndex = geneIndexes.computeIfAbsent(geneName, k -> new GeneIndex());
 
-                gfFeatures.addAll(transformFeature(sequenceRegion, ffFeature, Optional.of(geneName)));
+                for (GFF3Feature gff3Feature : transformFeature(sequenceRegion, ffFeature, Optional.of(geneName))) {
+                    geneIndex.add(gff3Feature, gfFeatures.size());
+                    gfFeatures.add(gff3Feature);
+                }
                 geneMap.put(geneName, gfFeatures);
             }
         }
     }
 
     private void sortFeaturesAndAssignId() {
-        for (String geneName : geneMap.keySet()) {
-            List<GFF3Feature> gffFeatures = geneMap.get(geneName);
+        for (Map.Entry<String, List<GFF3Feature>> gene : geneMap.entrySet()) {
+            List<GFF3Feature> gffFeatures = gene.getValue();
+            GeneIndex geneIndex = geneIndexes.get(gene.getKey());
 
             // build a tree of parent node and its children
-            List<GFF3Feature> rootNode = buildFeatureTree(gffFeatures);
+            List<GFF3Feature> rootNode = buildFeatureTree(gffFeatures, geneIndex.byId);
 
             // Clear and re-add in correct order
             gffFeatures.clear();
+            Set<String> emittedIds = new HashSet<>();
             for (GFF3Feature root : rootNode) {
-                orderRootAndChildren(gffFeatures, root);
+                orderRootAndChildren(gffFeatures, root, emittedIds);
             }
+            geneIndex.reindexPositions(gffFeatures);
         }
     }
 
     public List<GFF3Feature> buildFeatureTree(List<GFF3Feature> gffFeatures) {
-        List<GFF3Feature> rootNode = new ArrayList<>();
+        Map<String, GFF3Feature> idMap = new HashMap<>();
+        for (GFF3Feature feature : gffFeatures) {
+            // The last feature with an ID wins, as for the segments of a joined feature.
+            feature.getId().ifPresent(id -> idMap.put(id, feature));
+        }
+        return buildFeatureTree(gffFeatures, idMap);
+    }
 
-        Map<String, GFF3Feature> idMap = gffFeatures.stream()
-                .filter(f -> f.getId().isPresent())
-                .collect(Collectors.toMap(
-                        f -> f.getId().get(), Function.identity(), (existing, replacement) -> replacement));
+    private List<GFF3Feature> buildFeatureTree(List<GFF3Feature> gffFeatures, Map<String, GFF3Feature> idMap) {
+        List<GFF3Feature> rootNode = new ArrayList<>();
 
         for (GFF3Feature feature : gffFeatures) {
             String parentId = feature.getParentId().orElse(null);
@@ -246,14 +290,26 @@ public class GFF3AnnotationFactory {
     }
 
     public void orderRootAndChildren(List<GFF3Feature> gffFeatures, GFF3Feature root) {
+        Set<String> emittedIds = new HashSet<>();
+        for (GFF3Feature feature : gffFeatures) {
+            feature.getId().ifPresent(id -> emittedIds.add(foldCase(id)));
+        }
+        orderRootAndChildren(gffFeatures, root, emittedIds);
+    }
+
+    /**
+     * Appends {@code root} and its descendants to {@code gffFeatures}. {@code emittedIds} holds the
+     * case-folded IDs of the features already in the list, so that the parent check is a lookup.
+     */
+    private void orderRootAndChildren(List<GFF3Feature> gffFeatures, GFF3Feature root, Set<String> emittedIds) {
 
         String locusTag = root.getAttribute("locus_tag").orElse(null);
-        gffFeatures.add(root);
+        emit(gffFeatures, root, emittedIds);
 
         // Recursively process children
         for (GFF3Feature child : root.getChildren()) {
             if (child.hasChildren()) {
-                orderRootAndChildren(gffFeatures, child);
+                orderRootAndChildren(gffFeatures, child, emittedIds);
             } else {
                 // Leaf node processing
                 if (locusTag != null && !child.hasAttribute("locus_tag")) {
@@ -261,11 +317,11 @@ public class GFF3AnnotationFactory {
                     child.addAttribute("locus_tag", locusTag);
                 }
                 child.removeAttributeList("gene");
-                gffFeatures.add(child);
+                emit(gffFeatures, child, emittedIds);
             }
         }
 
-        if (hasParent(root, gffFeatures)) {
+        if (hasParent(root, emittedIds)) {
             // Parent cleanup
             root.removeAttributeList("gene");
         } else {
@@ -279,48 +335,37 @@ public class GFF3AnnotationFactory {
         return effectivelyComplemented ? "-" : "+";
     }
 
-    private String getPhase(Feature feature) {
-
-        // Rule: Use the phase value if present in a qualified.
-        // Rule: If phase qualifier is not present, calculate it only for CDS (default
-        // 0) or use "." otherwise
-
-        Qualifier phase = feature.getQualifiers().stream()
-                .filter(qualifier -> qualifier.getName().equalsIgnoreCase("phase"))
-                .findFirst()
-                .orElse(null);
-        Qualifier codonStart = feature.getQualifiers().stream()
-                .filter(qualifier -> qualifier.getName().equalsIgnoreCase("codon_start"))
-                .findFirst()
-                .orElse(null);
-        if (phase != null) {
-            return phase.getValue();
-        } else if (feature.getName().equalsIgnoreCase("CDS")) {
-            return codonStart == null ? "0" : String.valueOf((Long.parseLong(codonStart.getValue()) - 1));
+    private List<String> getPartiality(Location location) {
+        boolean fivePrime = location.isFivePrimePartial();
+        boolean threePrime = location.isThreePrimePartial();
+        if (fivePrime && threePrime) {
+            return location.isComplement() ? PARTIAL_END_START : PARTIAL_START_END;
+        } else if (fivePrime) {
+            return location.isComplement() ? PARTIAL_END : PARTIAL_START;
+        } else if (threePrime) {
+            return location.isComplement() ? PARTIAL_START : PARTIAL_END;
         }
-
-        return ".";
+        return List.of();
     }
 
-    private List<String> getPartiality(Location location) {
-
-        List<String> partiality = new ArrayList<>();
-        if (location.isFivePrimePartial()) {
-            partiality.add(location.isComplement() ? "end" : "start");
-        }
-        if (location.isThreePrimePartial()) {
-            partiality.add(location.isComplement() ? "start" : "end");
-        }
-        return partiality;
+    private static void emit(List<GFF3Feature> gffFeatures, GFF3Feature feature, Set<String> emittedIds) {
+        gffFeatures.add(feature);
+        feature.getId().ifPresent(id -> emittedIds.add(foldCase(id)));
     }
 
-    private boolean hasParent(GFF3Feature feature, List<GFF3Feature> gffFeatures) {
+    private boolean hasParent(GFF3Feature feature, Set<String> emittedIds) {
         Optional<String> parentId = feature.getParentId();
-        // Check if gffFeatures has the parent
-        return parentId.isPresent()
-                && gffFeatures.stream().anyMatch(f -> f.getId()
-                        .map(id -> id.equalsIgnoreCase(parentId.get()))
-                        .orElse(false));
+        // Check if the features emitted so far include the parent, ignoring case
+        return parentId.isPresent() && emittedIds.contains(foldCase(parentId.get()));
+    }
+
+    /** Folds case so that two IDs fold to the same string exactly when they are {@link String#equalsIgnoreCase}. */
+    static String foldCase(String id) {
+        char[] chars = id.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
     }
 
     public String getIncrementalId(String featureName, Optional<String> geneName) {
@@ -346,16 +391,72 @@ public class GFF3AnnotationFactory {
         }
 
         List<GFF3Feature> gffFeatures = geneMap.getOrDefault(geneName.orElse(""), Collections.emptyList());
+        GeneIndex geneIndex = geneIndexes.get(geneName.orElse(""));
+        if (geneIndex == null) {
+            return Optional.empty();
+        }
         Set<String> definedParents = featureRelationMap.getOrDefault(emblFeatureName, Collections.emptySet());
 
-        // As the features are ordered by location, iterating the features from last to first to get the immediate
-        // parent of a child feature.
-        for (int i = gffFeatures.size() - 1; i >= 0; i--) {
-            GFF3Feature feature = gffFeatures.get(i);
-            if (definedParents.contains(feature.getName())) {
-                return feature.getId();
+        // As the features are ordered by location, the latest feature of a parent type is the
+        // immediate parent of a child feature.
+        int latest = -1;
+        for (String parentName : definedParents) {
+            latest = Math.max(latest, geneIndex.latestByType.getOrDefault(parentName, -1));
+        }
+        return latest < 0 ? Optional.empty() : gffFeatures.get(latest).getId();
+    }
+
+    /** An entry whose features have been sorted and mapped by {@link #prepare}. */
+    public record PreparedEntry(Entry entry, List<PreparedFeature> features) {}
+
+    /**
+     * A feature with its GFF3 type, attributes and phase resolved. If resolving them failed, for
+     * instance because the feature has no SO term mapping, the error is kept and thrown when the
+     * feature is reached during conversion, as if it had been resolved there.
+     */
+    record PreparedFeature(
+            Feature feature,
+            String featureName,
+            Map<String, List<String>> attributes,
+            String phase,
+            Exception failure) {
+
+        static PreparedFeature of(Feature feature) {
+            try {
+                String featureName = FeatureMapping.getGFF3FeatureName(feature);
+                QualifierMappingPlan.MappedQualifiers mapped = QualifierMappingPlan.forFeature(feature).map(feature);
+                return new PreparedFeature(feature, featureName, mapped.attributes(), mapped.phase(), null);
+            } catch (ValidationException | RuntimeException e) {
+                return new PreparedFeature(feature, null, null, null, e);
+            }
+        }
+
+        void throwIfFailed() throws ValidationException {
+            if (failure instanceof ValidationException validationException) {
+                throw validationException;
+            } else if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+        }
+    }
+
+    /** Lookups over the features of one gene, in the order of the gene's list in {@link #geneMap}. */
+    static final class GeneIndex {
+        /// Feature by ID; the last feature wins, as for the segments of a joined feature.
+        final Map<String, GFF3Feature> byId = new HashMap<>();
+        /// Position in the gene's list of the latest feature of each type.
+        final Map<String, Integer> latestByType = new HashMap<>();
+
+        void add(GFF3Feature feature, int position) {
+            feature.getId().ifPresent(id -> byId.put(id, feature));
+            latestByType.put(feature.getName(), position);
+        }
+
+        void reindexPositions(List<GFF3Feature> gffFeatures) {
+            latestByType.clear();
+            for (int i = 0; i < gffFeatures.size(); i++) {
+                latestByType.put(gffFeatures.get(i).getName(), i);
             }
         }
-        return Optional.empty();
     }
 }
@@ -11,25 +11,32 @@
 package uk.ac.ebi.embl.gff3tools.fftogff3;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import uk.ac.ebi.embl.api.entry.Entry;
 import uk.ac.ebi.embl.flatfile.reader.embl.EmblEntryReader;
 import uk.ac.ebi.embl.gff3tools.exception.ReadException;
 import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
+import uk.ac.ebi.embl.gff3tools.exception.WriteException;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3File;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3StreamWriter;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Species;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
 import uk.ac.ebi.embl.gff3tools.metadata.MasterMetadata;
+import uk.ac.ebi.embl.gff3tools.utils.OrderedTaskWindow;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
 import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
 
 public class GFF3FileFactory {
     private static final String HEADER_VERSION = "3.1.26";
+    // Entries parsed or prepared ahead of the writer, per worker thread.
+    private static final int ENTRIES_IN_FLIGHT_PER_THREAD = 4;
 
     private final ValidationEngine engine;
 
@@ -69,6 +76,107 @@ public class GFF3FileFactory {
                 .build();
     }
 
+    /**
+     * Converts entries one at a time and writes each annotation to {@code writer} as soon as it is
+     * built, so only a single entry's annotation is held in memory. The output is the same as
+     * writing the {@link GFF3File} returned by {@link #from}.
+     */
+    public void write(EmblEntryReader entryReader, MasterMetadata masterMetadata, Writer writer)
+            throws ValidationException, ReadException, WriteException {
+        write(entryReader, masterMetadata, writer, 1);
+    }
+
+    /**
+     * Like {@link #write(EmblEntryReader, MasterMetadata, Writer)}, but with {@code threads > 1}
+     * entries are parsed on a background thread and {@link GFF3AnnotationFactory#prepare prepared}
+     * on a pool of {@code threads} workers, a bounded number of entries ahead of the writer. ID
+     * assignment, validation and writing stay on the calling thread and in entry order, so the
+     * output and the reported errors are the same as with one thread.
+     */
+    public void write(EmblEntryReader entryReader, MasterMetadata masterMetadata, Writer writer, int threads)
+            throws ValidationException, ReadException, WriteException {
+        TranslationState translationState = engine.getContext().contains(TranslationState.class)
+                ? engine.getContext().get(TranslationState.class)
+                : null;
+
+        GFF3StreamWriter gff3Writer = GFF3StreamWriter.builder()
+                .writer(writer)
+                .translationState(translationState)
+                .build();
+        gff3Writer.writeHeader(new GFF3Header(HEADER_VERSION));
+
+        GFF3DirectivesFactory directivesFactory = new GFF3DirectivesFactory();
+        GFF3AnnotationFactory annotationFactory = new GFF3AnnotationFactory(engine, directivesFactory);
+        if (threads > 1) {
+            writeConcurrently(entryReader, masterMetadata, gff3Writer, directivesFactory, annotationFactory, threads);
+        } else {
+            boolean speciesWritten = false;
+            try {
+                while (entryReader.read() != null && entryReader.isEntry()) {
+                    Entry entry = entryReader.getEntry();
+                    if (!speciesWritten) {
+                        gff3Writer.writeSpecies(directivesFactory.createSpecies(entry, masterMetadata));
+                        speciesWritten = true;
+                    }
+                    gff3Writer.writeAnnotation(annotationFactory.from(entry));
+                }
+            } catch (IOException e) {
+                throw new ReadException(e);
+            }
+        }
+        gff3Writer.close();
+    }
+
+    private void writeConcurrently(
+            EmblEntryReader entryReader,
+            MasterMetadata masterMetadata,
+            GFF3StreamWriter gff3Writer,
+            GFF3DirectivesFactory directivesFactory,
+            GFF3AnnotationFactory annotationFactory,
+            int threads)
+            throws ValidationException, ReadException, WriteException {
+        int capacity = threads * ENTRIES_IN_FLIGHT_PER_THREAD;
+        boolean speciesWritten = false;
+        try (EntryReaderThread entries = new EntryReaderThread(entryReader, capacity);
+                OrderedTaskWindow<GFF3AnnotationFactory.PreparedEntry> window =
+                        new OrderedTaskWindow<>(threads, capacity, "entry-prepare")) {
+            while (!entries.isDone() || !window.isEmpty()) {
+                // Keep the workers busy, but only wait for the parser when there is nothing to write.
+                while (!window.isFull() && !entries.isDone()) {
+                    Entry entry = window.isEmpty() ? entries.take() : entries.poll();
+                    if (entry == null) {
+                        break;
+                    }
+                    if (!speciesWritten) {
+                        gff3Writer.writeSpecies(directivesFactory.createSpecies(entry, masterMetadata));
+                        speciesWritten = true;
+                    }
+                    window.submit(() -> GFF3AnnotationFactory.prepare(entry));
+                }
+                if (!window.isEmpty()) {
+                    gff3Writer.writeAnnotation(annotationFactory.from(awaitEntry(window)));
+                }
+            }
+            entries.throwIfFailed();
+        }
+    }
+
+    private static GFF3AnnotationFactory.PreparedEntry awaitEntry(
+            OrderedTaskWindow<GFF3AnnotationFactory.PreparedEntry> window) throws ReadException {
+        try {
+            return window.next();
+        } catch (ExecutionException e) {
+            // prepare() keeps per-feature errors for later, so only an unexpected error gets here.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadException("Interrupted while converting entries");
+        }
+    }
+
     /**
      * Creates a GFF3File from pre-built annotations and an existing GFF3 reader.
      *
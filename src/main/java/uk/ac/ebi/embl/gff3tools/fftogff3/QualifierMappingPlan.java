@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.fftogff3;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import uk.ac.ebi.embl.api.entry.feature.Feature;
+import uk.ac.ebi.embl.api.entry.qualifier.Qualifier;
+import uk.ac.ebi.embl.gff3tools.utils.ConversionUtils;
+
+/**
+ * Precompiled translation of the qualifiers of one EMBL feature key into GFF3 attributes and phase.
+ *
+ * <p>Each qualifier name is resolved once into a {@link QualifierRule}, seeded from the ff2gff3
+ * qualifier table in {@link ConversionUtils}: the attribute key it maps to, and whether it is the
+ * {@code gene}, {@code phase} or {@code codon_start} qualifier. The qualifier table is the same for
+ * every feature key; what a plan adds per key is whether a missing phase is derived from
+ * {@code codon_start}, which only applies to {@code CDS}. Mapping a feature is then one pass over
+ * its qualifiers with a single lookup each.
+ */
+final class QualifierMappingPlan {
+
+    /** Unknown qualifier names are cached up to this many, so odd input cannot grow the table without bound. */
+    private static final int MAX_CACHED_RULES = 4096;
+
+    private static final Map<String, QualifierRule> RULES = new ConcurrentHashMap<>();
+    private static final Map<String, QualifierMappingPlan> PLANS = new ConcurrentHashMap<>();
+
+    static {
+        ConversionUtils.getFF2GFF3QualifierMap().forEach((name, attribute) -> RULES.put(name, rule(name, attribute)));
+    }
+
+    private final boolean derivesPhaseFromCodonStart;
+
+    private QualifierMappingPlan(String featureKey) {
+        this.derivesPhaseFromCodonStart = featureKey.equalsIgnoreCase("CDS");
+    }
+
+    static QualifierMappingPlan forFeature(Feature ffFeature) {
+        return PLANS.computeIfAbsent(ffFeature.getName(), QualifierMappingPlan::new);
+    }
+
+    /** Attributes and phase of a feature, read in one pass over its qualifiers. */
+    record MappedQualifiers(Map<String, List<String>> attributes, String phase) {}
+
+    /**
+     * Maps every qualifier except {@code gene} to its attribute, in qualifier order. A qualifier
+     * without a value becomes {@code "true"}.
+     *
+     * <p>The phase is the value of the first {@code phase} qualifier if there is one. Otherwise a
+     * CDS derives it from {@code codon_start} (default 0), and other features have no phase ({@code "."}).
+     */
+    MappedQualifiers map(Feature ffFeature) {
+        Map<String, List<String>> attributes = new LinkedHashMap<>();
+        Qualifier phase = null;
+        Qualifier codonStart = null;
+        for (Qualifier qualifier : ffFeature.getQualifiers()) {
+            QualifierRule rule = ruleFor(qualifier.getName());
+            if (rule.phase() && phase == null) {
+                phase = qualifier;
+            } else if (rule.codonStart() && codonStart == null) {
+                codonStart = qualifier;
+            }
+            if (!rule.gene()) {
+                String value = qualifier.isValue() ? qualifier.getValue() : "true";
+                attributes.computeIfAbsent(rule.attributeKey(), k -> new ArrayList<>(1)).add(value);
+            }
+        }
+        return new MappedQualifiers(attributes, phase(phase, codonStart));
+    }
+
+    private String phase(Qualifier phase, Qualifier codonStart) {
+        if (phase != null) {
+            return phase.getValue();
+        } else if (derivesPhaseFromCodonStart) {
+            return codonStart == null ? "0" : String.valueOf((Long.parseLong(codonStart.getValue()) - 1));
+        }
+        return ".";
+    }
+
+    private static QualifierRule ruleFor(String name) {
+        QualifierRule rule = RULES.get(name);
+        if (rule == null) {
+            rule = rule(name, name);
+            if (RULES.size() < MAX_CACHED_RULES) {
+                RULES.putIfAbsent(name, rule);
+            }
+        }
+        return rule;
+    }
+
+    private static QualifierRule rule(String name, String attributeKey) {
+        return new QualifierRule(
+                attributeKey,
+                "gene".equals(name),
+                name.equalsIgnoreCase("phase"),
+                name.equalsIgnoreCase("codon_start"));
+    }
+
+    /** How one qualifier name is translated. */
+    private record QualifierRule(String attributeKey, boolean gene, boolean phase, boolean codonStart) {}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-cryptographic 128-bit fingerprint of the identity of a {@link GFF3Feature}.
+ *
+ * <p>Covers ID, Parent ID, seqId, source, type, score, phase and every attribute except
+ * {@code partial}, which differs between the segments of one joined feature. Coordinates and
+ * strand are deliberately left out so that all segments of a join share a fingerprint.
+ *
+ * <p>Strings are hashed character by character in two independent 64-bit lanes. Each attribute is
+ * hashed on its own and the results are summed, so the fingerprint does not depend on attribute
+ * order and no keys need to be sorted. Values within an attribute remain order-sensitive.
+ */
+final class FeatureFingerprint {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_1 = 0x100000001B3L;
+    private static final long PRIME_2 = 0x87C37B91114253D5L;
+
+    /** Mixed in for a missing value; never equal to a character or a length. */
+    private static final long ABSENT = -1;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private long h1 = SEED_1;
+    private long h2 = SEED_2;
+
+    private FeatureFingerprint() {}
+
+    /** Returns the fingerprint of {@code feature} as 32 lowercase hex characters. */
+    static String of(GFF3Feature feature, Map<String, List<String>> attributes) {
+        FeatureFingerprint fields = new FeatureFingerprint();
+        fields.add(feature.getId().orElse(null));
+        fields.add(feature.getParentId().orElse(null));
+        fields.add(feature.getSeqId());
+        fields.add(feature.getSource());
+        fields.add(feature.getName());
+        fields.add(feature.getScore());
+        fields.add(feature.getPhase());
+
+        long sum1 = 0;
+        long sum2 = 0;
+        for (Map.Entry<String, List<String>> entry : attributes.entrySet()) {
+            List<String> values = entry.getValue();
+            // An attribute without values contributes nothing, as if it were absent.
+            if (values == null || values.isEmpty() || GFF3Attributes.PARTIAL.equals(entry.getKey())) {
+                continue;
+            }
+            FeatureFingerprint attribute = new FeatureFingerprint();
+            attribute.add(entry.getKey());
+            attribute.mix(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                attribute.add(values.get(i));
+            }
+            sum1 += fmix(attribute.h1);
+            sum2 += fmix(attribute.h2);
+        }
+        fields.mix(sum1);
+        fields.mix(sum2);
+
+        long a = fmix(fields.h1 ^ Long.rotateLeft(fields.h2, 29));
+        long b = fmix(fields.h2 ^ Long.rotateLeft(fields.h1, 31));
+        char[] hex = new char[32];
+        toHex(a, hex, 0);
+        toHex(b, hex, 16);
+        return new String(hex);
+    }
+
+    private void add(String s) {
+        if (s == null) {
+            mix(ABSENT);
+            return;
+        }
+        int n = s.length();
+        // Length-prefixed so that ("ab", "c") and ("a", "bc") differ.
+        mix(n);
+        for (int i = 0; i < n; i++) {
+            mix(s.charAt(i));
+        }
+    }
+
+    private void mix(long value) {
+        h1 = (h1 ^ value) * PRIME_1;
+        h2 = Long.rotateLeft(h2 + value * PRIME_2, 31) * PRIME_1 + SEED_1;
+    }
+
+    /** MurmurHash3 64-bit finaliser. */
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static void toHex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
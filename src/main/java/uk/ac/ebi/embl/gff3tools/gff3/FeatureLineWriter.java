@@ -0,0 +1,229 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serialises {@link GFF3Feature}s as GFF3 feature lines into a reusable character buffer.
+ *
+ * <p>Produces the same characters as formatting each column and encoding attributes with
+ * {@code URLEncoder.encode(s, UTF_8).replace("+", " ")}: letters, digits, {@code . - * _} and
+ * space are written as-is and every other character is percent-encoded as UTF-8. Attributes are
+ * ordered {@code ID}, {@code Parent}, then the remaining keys in natural order.
+ *
+ * <p>One instance is reused for all features of an annotation; it is not thread-safe.
+ */
+final class FeatureLineWriter {
+
+    private static final boolean[] UNESCAPED = new boolean[128];
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNESCAPED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNESCAPED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNESCAPED[c] = true;
+        }
+        UNESCAPED['.'] = true;
+        UNESCAPED['-'] = true;
+        UNESCAPED['*'] = true;
+        UNESCAPED['_'] = true;
+        // URLEncoder turns spaces into '+', which GFF3 output then maps back to a space.
+        UNESCAPED[' '] = true;
+    }
+
+    private char[] buffer = new char[256];
+    private int length;
+    private String[] keys = new String[16];
+
+    /** Writes {@code feature} as one tab-separated line, including the trailing newline. */
+    void write(Writer writer, GFF3Feature feature) throws IOException {
+        length = 0;
+        append(feature.getSeqId());
+        if (feature.getSeqIdVersion().isPresent()) {
+            append('.');
+            append(feature.getSeqIdVersion().get());
+        }
+        append('\t');
+        append(feature.getSource());
+        append('\t');
+        append(feature.getName());
+        append('\t');
+        append(feature.getStart());
+        append('\t');
+        append(feature.getEnd());
+        append('\t');
+        append(feature.getScore());
+        append('\t');
+        append(feature.getStrand());
+        append('\t');
+        append(feature.getPhase());
+        append('\t');
+        appendAttributes(feature);
+        append('\n');
+        writer.write(buffer, 0, length);
+    }
+
+    private void appendAttributes(GFF3Feature feature) {
+        boolean hasId = false;
+        boolean hasParent = false;
+        int count = 0;
+        for (String key : feature.getAttributeKeys()) {
+            if (key.equals("ID")) {
+                hasId = true;
+            } else if (key.equals("Parent")) {
+                hasParent = true;
+            } else {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = key;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        int written = 0;
+        if (hasId) {
+            appendAttribute(feature, "ID");
+            written++;
+        }
+        if (hasParent) {
+            appendAttribute(feature, "Parent");
+            written++;
+        }
+        for (int i = 0; i < count; i++) {
+            appendAttribute(feature, keys[i]);
+            keys[i] = null;
+            written++;
+        }
+        if (written == 0) {
+            append(';');
+        }
+    }
+
+    private void appendAttribute(GFF3Feature feature, String key) {
+        appendEncoded(key);
+        append('=');
+        List<String> values = feature.getAttributeList(key).orElse(List.of());
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                append(',');
+            }
+            appendEncoded(values.get(i));
+        }
+        append(';');
+    }
+
+    private void appendEncoded(String s) {
+        int n = s.length();
+        // An ASCII character takes at most three characters once escaped; a run of non-ASCII
+        // characters reserves its own space and then reserves again for whatever follows it.
+        ensureCapacity(3 * n);
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c < 128) {
+                if (UNESCAPED[c]) {
+                    buffer[length++] = c;
+                } else {
+                    appendPercent((byte) c);
+                }
+                i++;
+            } else {
+                // Encode a run of non-ASCII characters together so surrogate pairs stay intact.
+                int end = i + 1;
+                while (end < n && s.charAt(end) >= 128) {
+                    end++;
+                }
+                for (byte b : s.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    appendPercent(b);
+                }
+                i = end;
+                ensureCapacity(3 * (n - i));
+            }
+        }
+    }
+
+    private void appendPercent(byte b) {
+        ensureCapacity(3);
+        buffer[length++] = '%';
+        buffer[length++] = HEX[(b >> 4) & 0xF];
+        buffer[length++] = HEX[b & 0xF];
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = c;
+    }
+
+    private void append(String s) {
+        if (s == null) {
+            // Matches the string concatenation this replaces.
+            s = "null";
+        }
+        int n = s.length();
+        ensureCapacity(n);
+        s.getChars(0, n, buffer, length);
+        length += n;
+    }
+
+    private void append(long value) {
+        // 20 characters hold any long including its sign.
+        ensureCapacity(20);
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                append(Long.toString(value));
+                return;
+            }
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    /** Same result as {@code URLEncoder.encode(s, UTF_8).replace("+", " ")}. */
+    static String encode(String s) {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || !UNESCAPED[c]) {
+                FeatureLineWriter writer = new FeatureLineWriter();
+                writer.appendEncoded(s);
+                return new String(writer.buffer, 0, writer.length);
+            }
+        }
+        return s;
+    }
+}
@@ -12,10 +12,8 @@ package uk.ac.ebi.embl.gff3tools.gff3;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -29,46 +27,139 @@ public class GFF3Annotation implements IGFF3Feature {
     GFF3SequenceRegion sequenceRegion = null;
     List<GFF3Feature> features = new ArrayList<>();
 
-    private void writeFeature(Writer writer, GFF3Feature feature) throws IOException {
-        writer.write(feature.accession());
-        writer.write('\t' + feature.getSource());
-        writer.write('\t' + feature.getName());
-        writer.write("\t%d".formatted(feature.getStart()));
-        writer.write("\t%d".formatted(feature.getEnd()));
-        writer.write('\t' + feature.getScore());
-        writer.write('\t' + feature.getStrand().toString());
-        writer.write('\t' + feature.getPhase());
-        writeAttributes(writer, feature);
-        writer.write("\n");
-    }
-
-    private void writeAttributes(Writer writer, GFF3Feature feature) throws IOException {
-        writer.write('\t');
-        writer.write(feature.getAttributeKeys().stream()
-                .sorted(
-                        Comparator.comparingInt((String key) -> {
-                                    if (key.equals("ID")) return -2; // Highest priority
-                                    if (key.equals("Parent")) return -1; // Next
-                                    return 0; // Others
-                                })
-                                .thenComparing(Comparator.naturalOrder()) // Sort others by key
-                        )
-                .map((key) -> {
-                    List<String> attributes = feature.getAttributeList(key).orElse(new ArrayList<>());
-                    return encodeAttribute(key, attributes);
-                })
-                .collect(Collectors.joining(";", "", ";")));
-    }
-
-    private static String encodeAttribute(String key, List<String> value) {
-        String encodedKey = urlEncode(key);
-        // URL-encode each item on the list and concatenate them.
-        String encodedValue = value.stream().map(GFF3Annotation::urlEncode).collect(Collectors.joining(","));
-        return "%s=%s".formatted(encodedKey, encodedValue);
+    // Features removed but not yet dropped from the features list; see removeFeature().
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<GFF3Feature> removedFeatures = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Lookup indexes, built on first use and dropped whenever the features list is handed out or an
+    // indexed feature's ID or Parent changes.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, List<GFF3Feature>> featuresById;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, List<GFF3Feature>> featuresByParentId;
+
+    // Bumped whenever features are added, removed or replaced; see getModificationCount().
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long modificationCount;
+
+    /**
+     * Returns a count that changes whenever features are added to, removed from or replaced in this
+     * annotation, so that anything derived from the features can tell when it is out of date. The
+     * mutable list returned by {@link #getFeatures()} may be changed by its caller, so handing it out
+     * counts as a change. Changes to a feature's attributes or parent do not count.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns a read-only view of the features, for callers that only look at them. Unlike
+     * {@link #getFeatures()} it keeps the ID and Parent indexes and the modification count, so use
+     * it unless the list itself is to be changed.
+     */
+    public List<GFF3Feature> getFeaturesView() {
+        return Collections.unmodifiableList(liveFeatures());
+    }
+
+    /**
+     * Returns the live features list. The caller may modify it, so the ID and Parent indexes are
+     * dropped and rebuilt on the next lookup, and the modification count changes; callers that only
+     * read should use {@link #getFeaturesView()}.
+     */
+    public List<GFF3Feature> getFeatures() {
+        List<GFF3Feature> live = liveFeatures();
+        dropIndexes();
+        modificationCount++;
+        return live;
+    }
+
+    public void setFeatures(List<GFF3Feature> features) {
+        dropIndexes();
+        this.features = features;
+        removedFeatures.clear();
+        modificationCount++;
+    }
+
+    /**
+     * Returns the features with the given ID, in list order. A feature with a discontiguous location
+     * has one segment per line, all sharing the ID. A feature whose ID attribute has been rewritten
+     * is found under its new ID, after the features already there.
+     */
+    public List<GFF3Feature> getFeaturesById(String id) {
+        if (featuresById == null) {
+            buildIndexes();
+        }
+        return List.copyOf(featuresById.getOrDefault(id, List.of()));
+    }
+
+    /**
+     * Returns the features whose Parent is {@code parentId}, in list order. The result is a copy, so
+     * the features in it may be detached from their parent or removed while iterating over it.
+     *
+     * <p>A feature whose ID or Parent has changed is moved in the indexes at once, and is listed
+     * after the features that were already under its new key.
+     */
+    public List<GFF3Feature> getFeaturesByParentId(String parentId) {
+        if (featuresByParentId == null) {
+            buildIndexes();
+        }
+        return new ArrayList<>(featuresByParentId.getOrDefault(parentId, List.of()));
+    }
+
+    /** Called by an indexed feature whose ID or Parent has changed from the given values. */
+    void featureKeysChanged(GFF3Feature feature, Optional<String> oldId, Optional<String> oldParentId) {
+        oldId.ifPresent(id -> unindex(featuresById, id, feature));
+        oldParentId.ifPresent(parentId -> unindex(featuresByParentId, parentId, feature));
+        index(feature);
+    }
+
+    /** The features with removals applied, without dropping the indexes. */
+    private List<GFF3Feature> liveFeatures() {
+        if (!removedFeatures.isEmpty()) {
+            features.removeIf(removedFeatures::contains);
+            removedFeatures.clear();
+        }
+        return features;
+    }
+
+    private void buildIndexes() {
+        List<GFF3Feature> live = liveFeatures();
+        featuresById = new HashMap<>();
+        featuresByParentId = new HashMap<>();
+        for (GFF3Feature feature : live) {
+            index(feature);
+        }
+    }
+
+    private void index(GFF3Feature feature) {
+        feature.indexedBy = this;
+        feature.getId().ifPresent(id -> featuresById
+                .computeIfAbsent(id, k -> new ArrayList<>(1))
+                .add(feature));
+        feature.getParentId().ifPresent(parentId -> featuresByParentId
+                .computeIfAbsent(parentId, k -> new ArrayList<>())
+                .add(feature));
+    }
+
+    private void dropIndexes() {
+        if (featuresById != null) {
+            for (GFF3Feature feature : features) {
+                if (feature.indexedBy == this) {
+                    feature.indexedBy = null;
+                }
+            }
+        }
+        featuresById = null;
+        featuresByParentId = null;
     }
 
     public static String urlEncode(String s) {
-        return URLEncoder.encode(s, StandardCharsets.UTF_8).replace("+", " ");
+        return FeatureLineWriter.encode(s);
     }
 
     @Override
@@ -77,8 +168,9 @@ public class GFF3Annotation implements IGFF3Feature {
             if (this.sequenceRegion != null) {
                 this.sequenceRegion.writeGFF3String(writer);
             }
-            for (GFF3Feature feature : features) {
-                writeFeature(writer, feature);
+            FeatureLineWriter lineWriter = new FeatureLineWriter();
+            for (GFF3Feature feature : liveFeatures()) {
+                lineWriter.write(writer, feature);
             }
             writer.write('\n');
         } catch (IOException e) {
@@ -87,14 +179,20 @@ public class GFF3Annotation implements IGFF3Feature {
     }
 
     public void addFeature(GFF3Feature feature) {
-        features.add(feature);
+        liveFeatures().add(feature);
+        modificationCount++;
+        if (featuresById != null) {
+            index(feature);
+        }
     }
 
     public void merge(GFF3Annotation other) {
         if (this.sequenceRegion == null) {
             this.sequenceRegion = other.sequenceRegion;
         }
-        this.features.addAll(other.features);
+        liveFeatures().addAll(other.liveFeatures());
+        dropIndexes();
+        modificationCount++;
     }
 
     public String getAccession() {
@@ -104,14 +202,41 @@ public class GFF3Annotation implements IGFF3Feature {
             // If there is no features and no sequence region on the annotation we consider it a bug of our
             // library.
             // All annotations must have either a sequence region or features.
-            return this.features.stream()
+            return liveFeatures().stream()
                     .findFirst()
                     .map(GFF3Feature::accession)
                     .orElseThrow(RuntimeException::new);
         }
     }
 
+    /**
+     * Removes the feature in constant time. The feature is marked as removed and dropped from the
+     * features list, in one pass with any other removals, the next time the list is needed.
+     */
     public void removeFeature(GFF3Feature feature) {
-        features.remove(feature);
+        if (removedFeatures.add(feature)) {
+            modificationCount++;
+        }
+        if (featuresById != null && feature.indexedBy == this) {
+            feature.getId().ifPresent(id -> unindex(featuresById, id, feature));
+            feature.getParentId().ifPresent(parentId -> unindex(featuresByParentId, parentId, feature));
+            feature.indexedBy = null;
+        }
+    }
+
+    private static void unindex(Map<String, List<GFF3Feature>> index, String key, GFF3Feature feature) {
+        List<GFF3Feature> indexed = index.get(key);
+        if (indexed == null) {
+            return;
+        }
+        for (int i = 0; i < indexed.size(); i++) {
+            if (indexed.get(i) == feature) {
+                indexed.remove(i);
+                break;
+            }
+        }
+        if (indexed.isEmpty()) {
+            index.remove(key);
+        }
     }
 }
@@ -10,22 +10,23 @@
  */
 package uk.ac.ebi.embl.gff3tools.gff3;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import uk.ac.ebi.embl.gff3tools.utils.OntologyClient;
 
 @RequiredArgsConstructor
 @Getter
 @Setter
 public class GFF3Feature {
-    // Non-Mutable members except parentId used in constructor
-    final Optional<String> id;
+    // Non-Mutable members except id and parentId used in constructor
+    // The ID follows the ID attribute when that is set or removed; see syncId()
+    @NonNull
+    @Setter(AccessLevel.NONE)
+    Optional<String> id;
     // ParentId could be removed through some fix
     // e.g. GeneAssociatedFeatureRemoval
     @NonNull
@@ -46,6 +47,20 @@ public class GFF3Feature {
     @NonNull
     private Map<String, List<String>> attributes = new HashMap<>();
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String fingerprint;
+
+    // SO term the feature name resolves to; cached because the name never changes
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Optional<String> soId;
+
+    // The annotation whose ID and Parent indexes hold this feature, told when either changes
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    GFF3Annotation indexedBy;
+
     // Mutable members
     List<GFF3Feature> children = new ArrayList<>();
     GFF3Feature parent;
@@ -64,51 +79,60 @@ public class GFF3Feature {
         return !children.isEmpty();
     }
 
+    /**
+     * Returns a fingerprint identifying this feature across the segments of a joined location; see
+     * {@link FeatureFingerprint}. The value is cached until the parent ID or attributes are changed
+     * through this class.
+     */
     public String hashCodeString() {
-        // TODO Do we need to do this?
-        Map<String, List<String>> hashAttributes = new HashMap<>(attributes);
-        // Removing partial from the attribute as it can change for the first and last
-        // location in a compound Join
-        hashAttributes.remove("partial");
-
-        String hashCodeStr = String.join(
-                "|",
-                id.orElse(""),
-                parentId.orElse(""),
-                seqId,
-                source,
-                name,
-                score,
-                phase,
-                getAttributeString(hashAttributes));
-
-        return getSHA256Hash(hashCodeStr);
-    }
-
-    private String getSHA256Hash(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+        String hash = fingerprint;
+        if (hash == null) {
+            hash = FeatureFingerprint.of(this, attributes);
+            fingerprint = hash;
         }
+        return hash;
     }
 
-    private String getAttributeString(Map<String, List<String>> attributes) {
-        StringBuilder attrBuilder = new StringBuilder();
+    /**
+     * Returns the SO ID that this feature's name resolves to by name or synonym, see
+     * {@link OntologyClient#findTermByNameOrSynonym}. The lookup runs once per feature, so that
+     * validations that each need the feature's term do not repeat it.
+     */
+    public Optional<String> getSoId(OntologyClient ontologyClient) {
+        Optional<String> resolved = soId;
+        if (resolved == null) {
+            resolved = ontologyClient.findTermByNameOrSynonym(name);
+            soId = resolved;
+        }
+        return resolved;
+    }
 
-        attributes.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
-            String key = entry.getKey();
-            List<String> list = entry.getValue();
+    public void setParentId(@NonNull Optional<String> parentId) {
+        Optional<String> oldParentId = this.parentId;
+        this.parentId = parentId;
+        fingerprint = null;
+        if (indexedBy != null && !parentId.equals(oldParentId)) {
+            indexedBy.featureKeysChanged(this, id, oldParentId);
+        }
+    }
 
-            for (String value : list) {
-                attrBuilder.append(key).append("=").append(value).append(";");
-                attrBuilder.append(list);
-                attrBuilder.append(";");
+    /**
+     * Makes the ID follow the ID attribute after it has been set or removed. Appending to the attribute
+     * keeps the ID, as features are built from the ID column first and their attributes afterwards.
+     */
+    private void syncId(String key) {
+        if (!GFF3Attributes.ATTRIBUTE_ID.equals(key)) {
+            return;
+        }
+        List<String> ids = attributes.get(key);
+        Optional<String> newId = ids == null || ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+        if (!newId.equals(id)) {
+            Optional<String> oldId = id;
+            id = newId;
+            if (indexedBy != null) {
+                indexedBy.featureKeysChanged(this, oldId, parentId);
             }
-        });
-        return attrBuilder.toString();
+        }
     }
 
     public boolean isComplement() {
@@ -163,8 +187,10 @@ public class GFF3Feature {
      * @param values the list of values for the named attribute
      */
     public void setAttributeList(String key, List<String> values) {
+        fingerprint = null;
         if (values == null) {
             attributes.remove(key);
+            syncId(key);
             return;
         }
 
@@ -176,6 +202,7 @@ public class GFF3Feature {
         } else {
             attributes.put(key, new ArrayList<>(filtered));
         }
+        syncId(key);
     }
 
     /**
@@ -213,7 +240,9 @@ public class GFF3Feature {
      * @param name the name of the attribute.
      */
     public void removeAttributeList(String key) {
+        fingerprint = null;
         attributes.remove(key);
+        syncId(key);
     }
 
     /**
@@ -228,6 +257,7 @@ public class GFF3Feature {
             List<String> attribute = attributes.getOrDefault(name, new ArrayList<>());
             attribute.add(value);
             attributes.put(name, attribute);
+            fingerprint = null;
         }
     }
 
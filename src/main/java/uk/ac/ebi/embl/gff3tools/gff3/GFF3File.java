@@ -10,25 +10,16 @@
  */
 package uk.ac.ebi.embl.gff3tools.gff3;
 
-import java.io.BufferedReader;
-import java.io.IOException;
 import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
-import java.util.Map;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
 import uk.ac.ebi.embl.gff3tools.exception.WriteException;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.*;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
-import uk.ac.ebi.embl.gff3tools.gff3.reader.OffsetRange;
-import uk.ac.ebi.embl.gff3tools.gff3.writer.TranslationWriter;
 import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
 
-@Slf4j
 @Builder
 public class GFF3File implements IGFF3Feature {
 
@@ -68,99 +59,19 @@ public class GFF3File implements IGFF3Feature {
 
     @Override
     public void writeGFF3String(Writer writer) throws WriteException {
-
-        try {
-            if (header != null) {
-                header.writeGFF3String(writer);
-            }
-
-            if (species != null) {
-                species.writeGFF3String(writer);
-            }
-
-            for (GFF3Annotation ann : annotations) {
-                ann.writeGFF3String(writer);
-
-                if (writeAnnotationFasta) {
-                    Map<String, OffsetRange> annOffserMap = gff3Reader.getTranslationOffsetForAnnotation(ann);
-                    // Write translation by annnotation offset map
-                    writeFastaFromOffsets(writer, annOffserMap);
-                }
-            }
-
-            if (!writeAnnotationFasta) {
-                writeTranslationSection(writer);
-            }
-        } catch (IOException e) {
-            throw new WriteException(e);
-        }
-    }
-
-    private void writeTranslationSection(Writer writer) throws IOException {
-        if (translationState != null) {
-            writeFastaFromTranslationState(writer);
-        } else if (fastaFilePath != null) {
-            writeFastaFromExistingFile(writer);
-        } else if (gff3Reader != null
-                && gff3Reader.getTranslationOffsetMap() != null
-                && !gff3Reader.getTranslationOffsetMap().isEmpty()) {
-            writeFastaFromOffsets(writer, gff3Reader.getTranslationOffsetMap());
-        }
-    }
-
-    private void writeFastaFromTranslationState(Writer writer) throws IOException {
-        List<Map.Entry<String, String>> toWrite = new java.util.ArrayList<>();
-        translationState.forEachResolved((key, translation) -> toWrite.add(Map.entry(key, translation)));
-
-        if (toWrite.isEmpty()) {
-            return;
-        }
-
-        writer.write("##FASTA\n");
-        for (Map.Entry<String, String> e : toWrite) {
-            TranslationWriter.writeTranslation(writer, e.getKey(), e.getValue());
-        }
-        log.info("Written {} translation sequences from TranslationState", toWrite.size());
-        writer.write("\n");
-    }
-
-    private void writeFastaFromExistingFile(Writer writer) throws IOException {
-
-        BasicFileAttributes attrs = Files.readAttributes(fastaFilePath, BasicFileAttributes.class);
-
-        if (!attrs.isRegularFile() || attrs.size() == 0) {
-            return;
-        }
-
-        writer.write("##FASTA\n");
-
-        try (BufferedReader br = Files.newBufferedReader(fastaFilePath)) {
-            char[] buffer = new char[8192];
-            int n;
-            while ((n = br.read(buffer)) != -1) {
-                writer.write(buffer, 0, n);
-            }
-        }
-        log.info("Write translation sequences from: " + fastaFilePath);
-    }
-
-    private void writeFastaFromOffsets(Writer writer, Map<String, OffsetRange> translationOffsetMap)
-            throws IOException {
-
-        if (translationOffsetMap.isEmpty()) {
-            return;
-        }
-
-        writer.write("##FASTA\n");
-
-        for (Map.Entry<String, OffsetRange> entry : translationOffsetMap.entrySet()) {
-            String id = entry.getKey();
-            OffsetRange range = entry.getValue();
-
-            String translation = gff3Reader.getTranslation(range);
-            TranslationWriter.writeTranslation(writer, id, translation);
+        GFF3StreamWriter streamWriter = GFF3StreamWriter.builder()
+                .writer(writer)
+                .gff3Reader(gff3Reader)
+                .fastaFilePath(fastaFilePath)
+                .writeAnnotationFasta(writeAnnotationFasta)
+                .translationState(translationState)
+                .build();
+
+        streamWriter.writeHeader(header);
+        streamWriter.writeSpecies(species);
+        for (GFF3Annotation ann : annotations) {
+            streamWriter.writeAnnotation(ann);
         }
-        log.info("Written {} sequences from: ", translationOffsetMap.entrySet().size());
-        writer.write("\n");
+        streamWriter.close();
     }
 }
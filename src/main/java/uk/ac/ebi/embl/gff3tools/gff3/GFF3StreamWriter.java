@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import uk.ac.ebi.embl.gff3tools.exception.WriteException;
+import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
+import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Species;
+import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
+import uk.ac.ebi.embl.gff3tools.gff3.reader.OffsetRange;
+import uk.ac.ebi.embl.gff3tools.gff3.writer.TranslationWriter;
+import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
+
+/**
+ * Incremental counterpart of {@link GFF3File}: directives and annotations are written as soon as
+ * they are supplied, and the optional {@code ##FASTA} section is streamed on {@link #close()}. A
+ * producer can therefore emit a GFF3 document without holding all of its annotations in memory.
+ *
+ * <p>The trailing FASTA section comes from {@code translationState} when set, otherwise from
+ * {@code fastaFilePath}, otherwise from the translation offsets of {@code gff3Reader}. With
+ * {@code writeAnnotationFasta} the reader's translations are written after each annotation
+ * instead, and no trailing section is written.
+ *
+ * <p>Directives must be written before the first annotation. The underlying writer is flushed on
+ * close but left open for the caller.
+ */
+@Slf4j
+public class GFF3StreamWriter implements AutoCloseable {
+
+    private final Writer writer;
+    private final GFF3FileReader gff3Reader;
+    private final Path fastaFilePath;
+    private final boolean writeAnnotationFasta;
+    private final TranslationState translationState;
+    private boolean closed;
+
+    @Builder
+    public GFF3StreamWriter(
+            Writer writer,
+            GFF3FileReader gff3Reader,
+            Path fastaFilePath,
+            boolean writeAnnotationFasta,
+            TranslationState translationState) {
+        this.writer = writer;
+        this.gff3Reader = gff3Reader;
+        this.fastaFilePath = fastaFilePath;
+        this.writeAnnotationFasta = writeAnnotationFasta;
+        this.translationState = translationState;
+    }
+
+    public void writeHeader(GFF3Header header) throws WriteException {
+        if (header != null) {
+            header.writeGFF3String(writer);
+        }
+    }
+
+    public void writeSpecies(GFF3Species species) throws WriteException {
+        if (species != null) {
+            species.writeGFF3String(writer);
+        }
+    }
+
+    public void writeAnnotation(GFF3Annotation annotation) throws WriteException {
+        annotation.writeGFF3String(writer);
+        if (writeAnnotationFasta) {
+            try {
+                writeFastaFromOffsets(writer, gff3Reader, gff3Reader.getTranslationOffsetForAnnotation(annotation));
+            } catch (IOException e) {
+                throw new WriteException(e);
+            }
+        }
+    }
+
+    /** Writes the trailing FASTA section, if any, and flushes the writer. Idempotent. */
+    @Override
+    public void close() throws WriteException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!writeAnnotationFasta) {
+                writeTranslationSection();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new WriteException(e);
+        }
+    }
+
+    private void writeTranslationSection() throws IOException {
+        if (translationState != null) {
+            writeFastaFromTranslationState(writer, translationState);
+        } else if (fastaFilePath != null) {
+            writeFastaFromExistingFile(writer, fastaFilePath);
+        } else if (gff3Reader != null
+                && gff3Reader.getTranslationOffsetMap() != null
+                && !gff3Reader.getTranslationOffsetMap().isEmpty()) {
+            writeFastaFromOffsets(writer, gff3Reader, gff3Reader.getTranslationOffsetMap());
+        }
+    }
+
+    static void writeFastaFromTranslationState(Writer writer, TranslationState translationState) throws IOException {
+        // The section marker is written lazily so an empty state produces no section at all.
+        int[] written = {0};
+        translationState.forEachResolved((key, translation) -> {
+            try {
+                if (written[0]++ == 0) {
+                    writer.write("##FASTA\n");
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            TranslationWriter.writeTranslation(writer, key, translation);
+        });
+
+        if (written[0] == 0) {
+            return;
+        }
+        log.info("Written {} translation sequences from TranslationState", written[0]);
+        writer.write("\n");
+    }
+
+    static void writeFastaFromExistingFile(Writer writer, Path fastaFilePath) throws IOException {
+
+        BasicFileAttributes attrs = Files.readAttributes(fastaFilePath, BasicFileAttributes.class);
+
+        if (!attrs.isRegularFile() || attrs.size() == 0) {
+            return;
+        }
+
+        writer.write("##FASTA\n");
+
+        try (BufferedReader br = Files.newBufferedReader(fastaFilePath)) {
+            char[] buffer = new char[8192];
+            int n;
+            while ((n = br.read(buffer)) != -1) {
+                writer.write(buffer, 0, n);
+            }
+        }
+        log.info("Write translation sequences from: " + fastaFilePath);
+    }
+
+    static void writeFastaFromOffsets(
+            Writer writer, GFF3FileReader gff3Reader, Map<String, OffsetRange> translationOffsetMap)
+            throws IOException {
+
+        if (translationOffsetMap.isEmpty()) {
+            return;
+        }
+
+        writer.write("##FASTA\n");
+
+        for (Map.Entry<String, OffsetRange> entry : translationOffsetMap.entrySet()) {
+            String id = entry.getKey();
+            OffsetRange range = entry.getValue();
+
+            String translation = gff3Reader.getTranslation(range);
+            TranslationWriter.writeTranslation(writer, id, translation);
+        }
+        log.info("Written {} sequences from: ", translationOffsetMap.entrySet().size());
+        writer.write("\n");
+    }
+}
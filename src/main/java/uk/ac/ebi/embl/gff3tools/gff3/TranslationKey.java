@@ -30,4 +30,15 @@ public final class TranslationKey {
     public static String of(String accession, String featureId) {
         return accession + "|" + GFF3Annotation.urlEncode(featureId);
     }
+
+    /**
+     * Extract the accession from a key built by {@link #of}.
+     *
+     * @param key a translation key
+     * @return the accession part of the key
+     */
+    public static String accessionOf(String key) {
+        int separator = key.lastIndexOf('|');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
 }
@@ -18,7 +18,6 @@ import java.nio.file.Path;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import uk.ac.ebi.embl.gff3tools.exception.*;
 import uk.ac.ebi.embl.gff3tools.gff3.*;
@@ -39,6 +38,30 @@ public class GFF3FileReader implements AutoCloseable {
     static Pattern TRANSLATION_ID_PATTERN = Pattern.compile("^>(?<translationId>.*)");
     static Pattern COMMENT = Pattern.compile("^#.*$");
 
+    // Attributes whose values take a handful of distinct values per file, so are worth pooling.
+    // Identifiers (ID, Parent, locus_tag, protein_id, ...) are unique per feature and are not.
+    static final Set<String> POOLED_ATTRIBUTE_VALUES = Set.of(
+            "gbkey",
+            "gene_biotype",
+            GFF3Attributes.PARTIAL,
+            GFF3Attributes.PSEUDO,
+            GFF3Attributes.PSEUDOGENE,
+            GFF3Attributes.PRODUCT,
+            GFF3Attributes.MOL_TYPE,
+            GFF3Attributes.ORGANELLE,
+            GFF3Attributes.CODON_START,
+            GFF3Attributes.TRANSL_TABLE,
+            GFF3Attributes.EXCEPTION,
+            GFF3Attributes.EXPERIMENT,
+            GFF3Attributes.INFERENCE,
+            GFF3Attributes.GAP_TYPE,
+            GFF3Attributes.LINKAGE_EVIDENCE,
+            GFF3Attributes.MOBILE_ELEMENT_TYPE,
+            GFF3Attributes.RIBOSOMAL_SLIPPAGE,
+            GFF3Attributes.CIRCULAR_RNA);
+
+    // Exactly one of these is set: lineReader for byte input, bufferedReader for character input
+    OffsetLineReader lineReader;
     BufferedReader bufferedReader;
     int lineCount;
     GFF3Annotation currentAnnotation;
@@ -51,24 +74,54 @@ public class GFF3FileReader implements AutoCloseable {
     public GFF3Species gff3Species;
     private final Set<String> processedAccessions;
 
+    // Byte offset of the line after ##FASTA, or -1 until the directive has been read from byte input
+    private long fastaSectionOffset = -1;
+    private boolean fastaSectionSeen;
+    // Set when the input ended without reaching a FASTA section
+    private boolean endOfInputWithoutFasta;
+
     private Map<String, OffsetRange> translationMap;
+    // Same offsets grouped by accession, built together with translationMap
+    private Map<String, Map<String, OffsetRange>> translationMapByAccession;
     private final GFF3TranslationReader translationReader;
 
-    // Used by GFF3 conversion process
+    // Shares one instance between equal columns, attribute keys and POOLED_ATTRIBUTE_VALUES across lines
+    private final StringPool stringPool = new StringPool();
+
+    // Used by GFF3 conversion process. Decoded input has no byte offsets, so translations are
+    // located by scanning gff3Path backwards; this is also the path taken for gzipped input.
     public GFF3FileReader(ValidationEngine validationEngine, Reader reader, Path gff3Path) {
+        this(validationEngine, null, new BufferedReader(reader), gff3Path);
+    }
+
+    /**
+     * Reads the UTF-8 GFF3 in {@code in}, which must be the uncompressed bytes of {@code gff3Path}.
+     * The byte offset of the ##FASTA section is noted while reading, so translations are located
+     * without searching the file for it.
+     */
+    public GFF3FileReader(ValidationEngine validationEngine, InputStream in, Path gff3Path) {
+        this(validationEngine, new OffsetLineReader(in, StandardCharsets.UTF_8), null, gff3Path);
+    }
+
+    // Used by GFF3 processing pipeline
+    public GFF3FileReader(ValidationEngine validationEngine, Path gff3Path) throws IOException {
+        this(validationEngine, Files.newInputStream(gff3Path), gff3Path);
+    }
+
+    private GFF3FileReader(
+            ValidationEngine validationEngine,
+            OffsetLineReader lineReader,
+            BufferedReader bufferedReader,
+            Path gff3Path) {
         this.validationEngine = validationEngine;
-        this.bufferedReader = new BufferedReader(reader);
+        this.lineReader = lineReader;
+        this.bufferedReader = bufferedReader;
         lineCount = 0;
         currentAnnotation = new GFF3Annotation();
         processedAccessions = new HashSet<>();
         translationReader = new GFF3TranslationReader(validationEngine, gff3Path);
     }
 
-    // Used by GFF3 processing pipeline
-    public GFF3FileReader(ValidationEngine validationEngine, Path gff3Path) throws IOException {
-        this(validationEngine, Files.newBufferedReader(gff3Path), gff3Path);
-    }
-
     public GFF3Annotation readAnnotation() throws IOException, ValidationException {
 
         String line;
@@ -79,6 +132,10 @@ public class GFF3FileReader implements AutoCloseable {
                 continue;
             }
             if (line.startsWith("##FASTA")) {
+                fastaSectionSeen = true;
+                if (lineReader != null) {
+                    fastaSectionOffset = lineReader.byteOffset();
+                }
                 break;
             }
             Matcher m = SPECIES_DIRECTIVE.matcher(line);
@@ -91,7 +148,7 @@ public class GFF3FileReader implements AutoCloseable {
                 GFF3SequenceRegion sequenceRegion = readSequenceRegion(m);
                 accessionSequenceRegionMap.put(sequenceRegion.accession(), sequenceRegion);
             } else if (RESOLUTION_DIRECTIVE.matcher(line).matches()) {
-                if (!currentAnnotation.getFeatures().isEmpty() || currentAnnotation.getSequenceRegion() != null) {
+                if (!currentAnnotation.getFeaturesView().isEmpty() || currentAnnotation.getSequenceRegion() != null) {
                     GFF3Annotation previousAnnotation = currentAnnotation;
                     currentAnnotation = new GFF3Annotation();
                     validationEngine.validate(previousAnnotation, lineCount);
@@ -110,7 +167,7 @@ public class GFF3FileReader implements AutoCloseable {
                     // Validate and set the corresponding sequence region to the current annotation
                     validateAndSetSequenceRegion();
 
-                    if (!previousAnnotation.getFeatures().isEmpty()) {
+                    if (!previousAnnotation.getFeaturesView().isEmpty()) {
                         validationEngine.validate(previousAnnotation, lineCount);
                         processedAccessions.add(previousAnnotation.getAccession());
                         return previousAnnotation;
@@ -129,8 +186,12 @@ public class GFF3FileReader implements AutoCloseable {
             }
         }
 
+        if (line == null && !fastaSectionSeen) {
+            endOfInputWithoutFasta = true;
+        }
+
         // Handle the final annotation
-        if (!currentAnnotation.getFeatures().isEmpty() || currentAnnotation.getSequenceRegion() != null) {
+        if (!currentAnnotation.getFeaturesView().isEmpty() || currentAnnotation.getSequenceRegion() != null) {
             GFF3Annotation finalAnnotation = currentAnnotation;
             currentAnnotation = new GFF3Annotation();
             validationEngine.validate(finalAnnotation, lineCount);
@@ -156,8 +217,22 @@ public class GFF3FileReader implements AutoCloseable {
         void handle(T entry) throws WriteException, ValidationException, ReadException;
     }
 
+    @FunctionalInterface
+    public interface EndHandler {
+        void end() throws WriteException, ValidationException, ReadException;
+    }
+
     public void read(AnnotationHandler<GFF3Annotation> annotationHandler)
             throws ValidationException, ReadException, WriteException {
+        read(annotationHandler, () -> {});
+    }
+
+    /**
+     * Like {@link #read(AnnotationHandler)}, calling {@code endHandler} once the last annotation
+     * has been handled and before the exit validations run.
+     */
+    public void read(AnnotationHandler<GFF3Annotation> annotationHandler, EndHandler endHandler)
+            throws ValidationException, ReadException, WriteException {
 
         try {
             GFF3Annotation previousAnnotation = null;
@@ -184,6 +259,7 @@ public class GFF3FileReader implements AutoCloseable {
             }
             // After the loop, handle the last accumulated annotation.
             annotationHandler.handle(previousAnnotation);
+            endHandler.end();
 
             validationEngine.executeExits();
         } catch (IOException e) {
@@ -212,14 +288,14 @@ public class GFF3FileReader implements AutoCloseable {
         if (parts.length < 9) {
             return null; // GFF3 features must have at least 9 fields
         }
-        String accession = parts[0];
-        String source = parts[1];
-        String name = parts[2];
+        String accession = stringPool.intern(parts[0]);
+        String source = stringPool.intern(parts[1]);
+        String name = stringPool.intern(parts[2]);
         String start_str = parts[3];
         String end_str = parts[4];
-        String score = parts[5];
-        String strand = parts[6];
-        String phase = parts[7];
+        String score = stringPool.intern(parts[5]);
+        String strand = stringPool.intern(parts[6]);
+        String phase = stringPool.intern(parts[7]);
         String attributes = parts[8];
 
         Map<String, List<String>> attributesMap = attributesFromString(attributes);
@@ -286,9 +362,11 @@ public class GFF3FileReader implements AutoCloseable {
             if (part.contains("=")) {
                 String[] keyValue = part.split("=");
                 if (keyValue.length == 2) {
-                    String key = keyValue[0].trim();
+                    String key = stringPool.intern(keyValue[0].trim());
+                    boolean pooled = POOLED_ATTRIBUTE_VALUES.contains(key);
                     List<String> values = Arrays.stream(keyValue[1].trim().split(","))
                             .map(GFF3FileReader::urlDecode)
+                            .map(value -> pooled ? stringPool.intern(value) : value)
                             .toList();
                     Gff3Utils.addAttributes(attributes, key, values);
                 }
@@ -317,30 +395,69 @@ public class GFF3FileReader implements AutoCloseable {
         return null;
     }
 
+    /**
+     * Returns the translation offsets whose key belongs to the annotation's accession, in key order.
+     * The offsets are grouped by accession once, when first needed, so each lookup is constant-time.
+     */
     public Map<String, OffsetRange> getTranslationOffsetForAnnotation(GFF3Annotation annotation) {
-        return getTranslationOffsetMap().entrySet().stream()
-                .filter(e -> e.getKey().startsWith(annotation.getAccession()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        getTranslationOffsetMap();
+        return translationMapByAccession.getOrDefault(annotation.getAccession(), Map.of());
     }
 
+    /**
+     * Returns the offsets of the translations in the FASTA section, keyed by FASTA header. Once the
+     * features have been read, a file without a FASTA section is not read again, and for byte input
+     * the section is scanned forward from the offset noted while reading. Otherwise, i.e. when
+     * called before the features have been read or for decoded or gzipped input, the section is
+     * found by scanning backwards from the end of the file.
+     */
     public Map<String, OffsetRange> getTranslationOffsetMap() {
         if (translationMap == null) {
-            translationMap = Collections.unmodifiableMap(translationReader.readTranslationOffset());
+            Map<String, OffsetRange> offsets;
+            if (fastaSectionOffset >= 0) {
+                offsets = translationReader.readTranslationOffset(fastaSectionOffset);
+            } else if (endOfInputWithoutFasta) {
+                offsets = new TreeMap<>();
+            } else {
+                offsets = translationReader.readTranslationOffset();
+            }
+            translationMap = Collections.unmodifiableMap(offsets);
+            translationMapByAccession = groupByAccession(offsets);
         }
         return translationMap;
     }
 
+    static Map<String, Map<String, OffsetRange>> groupByAccession(Map<String, OffsetRange> offsets) {
+        Map<String, Map<String, OffsetRange>> grouped = new HashMap<>();
+        for (Map.Entry<String, OffsetRange> entry : offsets.entrySet()) {
+            grouped.computeIfAbsent(TranslationKey.accessionOf(entry.getKey()), k -> new LinkedHashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+        grouped.replaceAll((accession, group) -> Collections.unmodifiableMap(group));
+        return grouped;
+    }
+
     public String getTranslation(OffsetRange offsetRange) {
         return translationReader.readTranslation(offsetRange);
     }
 
+    /**
+     * Reads a translation, passing an invalid sequence to {@code invalidSequenceHandler} instead
+     * of the validation engine. Safe to call from several threads once
+     * {@link #getTranslationOffsetMap()} has been called.
+     */
+    public String getTranslation(
+            OffsetRange offsetRange, GFF3TranslationReader.InvalidSequenceHandler invalidSequenceHandler) {
+        return translationReader.readTranslation(offsetRange, invalidSequenceHandler);
+    }
+
     public GFF3Species getSpecies() {
         return gff3Species;
     }
 
     private String readLine() throws IOException {
         this.lineCount++;
-        return bufferedReader.readLine();
+        return lineReader != null ? lineReader.readLine() : bufferedReader.readLine();
     }
 
     private static String urlDecode(String s) {
@@ -349,6 +466,10 @@ public class GFF3FileReader implements AutoCloseable {
 
     @Override
     public void close() throws IOException {
-        bufferedReader.close();
+        if (lineReader != null) {
+            lineReader.close();
+        } else {
+            bufferedReader.close();
+        }
     }
 }
@@ -29,7 +29,8 @@ import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
  *
  * This reader works directly on the underlying file using RandomAccessFile
  * to avoid loading the entire GFF3 or FASTA content into memory. It scans
- * backwards from the end of the file to locate ##FASTA directive
+ * backwards from the end of the file to locate ##FASTA directive, or forwards
+ * from the start of the section when its offset is already known.
  */
 @Slf4j
 public class GFF3TranslationReader {
@@ -49,6 +50,8 @@ public class GFF3TranslationReader {
      * The method reads from the end of the file until the ##FASTA
      * directive is encountered. For each FASTA header line (>accession|id),
      * the method records the byte offset where the sequence starts and ends.
+     * The first window read is small and each next one twice as large, so a
+     * file without translations costs a single short read of its tail.
      */
     public Map<String, OffsetRange> readTranslationOffset() {
         Map<String, OffsetRange> offsetMap = new TreeMap<>();
@@ -60,8 +63,9 @@ public class GFF3TranslationReader {
             long seqEnd = fileSize - 1;
             long cursorPos;
 
-            // 1 MB Buffer size
+            // Windows grow from 64 KB to 1 MB
             final int bufferSize = 1024 * 1024;
+            int windowSize = 64 * 1024;
 
             ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
 
@@ -70,12 +74,15 @@ public class GFF3TranslationReader {
 
             while (position > 0 && !stop) {
                 // Move read window backwards
-                long bytesToRead = Math.min(position, bufferSize);
+                long bytesToRead = Math.min(position, windowSize);
                 position -= bytesToRead;
+                windowSize = Math.min(windowSize * 2, bufferSize);
 
                 buffer.clear();
-                channel.position(position);
-                channel.read(buffer);
+                buffer.limit((int) bytesToRead);
+                while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+                    // keep reading until the window is full
+                }
                 buffer.flip();
 
                 // Scan block backwards
@@ -143,12 +150,89 @@ public class GFF3TranslationReader {
         return offsetMap;
     }
 
+    /**
+     * Extracts the same offsets as {@link #readTranslationOffset()}, scanning forward from
+     * {@code fastaOffset}, the byte offset of the line following the ##FASTA directive. Only the
+     * FASTA section is read.
+     */
+    public Map<String, OffsetRange> readTranslationOffset(long fastaOffset) {
+        Map<String, OffsetRange> offsetMap = new TreeMap<>();
+
+        try (FileChannel channel = FileChannel.open(gff3Path, StandardOpenOption.READ)) {
+
+            long fileSize = channel.size();
+            long position = fastaOffset;
+            long lineStart = fastaOffset;
+            String openId = null;
+            long seqStart = 0;
+
+            ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            StringBuilder lineBuffer = new StringBuilder();
+            channel.position(fastaOffset);
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n' || b == '\r') {
+                        if (lineBuffer.length() > 0) {
+                            String line = lineBuffer.toString();
+                            lineBuffer.setLength(0);
+                            if (line.startsWith(">")) {
+                                if (openId != null) {
+                                    // The previous sequence ends at the terminator before this header
+                                    offsetMap.put(openId, new OffsetRange(seqStart, lineStart - 1));
+                                }
+                                openId = line.substring(1);
+                                seqStart = lineStart + line.length();
+                            } else if (!isValidSequence(line) && openId != null) {
+                                throw new RuntimeException("Invalid GFF3 translation sequence: " + line);
+                            }
+                        }
+                        lineStart = position + 1;
+                    } else {
+                        lineBuffer.append((char) b);
+                    }
+                    position++;
+                }
+                buffer.clear();
+            }
+
+            // Handle last line if it has no terminator
+            if (!lineBuffer.isEmpty() && lineBuffer.charAt(0) == '>') {
+                if (openId != null) {
+                    offsetMap.put(openId, new OffsetRange(seqStart, lineStart - 1));
+                }
+                openId = lineBuffer.substring(1);
+                seqStart = fileSize;
+            }
+            if (openId != null) {
+                offsetMap.put(openId, new OffsetRange(seqStart, fileSize - 1));
+            } else {
+                log.info("Translation sequence not found");
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return offsetMap;
+    }
+
     /**
      * Reads a sequence from the GFF3 FASTA section based on the provided byte offset range
      * All newline characters are removed to produce a continuous sequence string.
      * The resulting string is validated using the SEQUENCE_PATTERN
      */
     public String readTranslation(OffsetRange offset) {
+        return readTranslation(offset, validationEngine::handleSyntacticError);
+    }
+
+    /**
+     * Reads a sequence like {@link #readTranslation(OffsetRange)}, passing an invalid sequence to
+     * {@code invalidSequenceHandler} instead of the validation engine.
+     */
+    public String readTranslation(OffsetRange offset, InvalidSequenceHandler invalidSequenceHandler) {
 
         StringBuilder sequenceBuilder = new StringBuilder();
         String sequence;
@@ -166,7 +250,7 @@ public class GFF3TranslationReader {
             }
             sequence = sequenceBuilder.toString().toUpperCase();
             if (!isValidSequence(sequence)) {
-                validationEngine.handleSyntacticError(
+                invalidSequenceHandler.handle(
                         new InvalidGFF3RecordException(-1, "Invalid sequenceBuilder record \"" + sequence + "\""));
             }
         } catch (IOException | ValidationException e) {
@@ -176,6 +260,11 @@ public class GFF3TranslationReader {
         return sequence;
     }
 
+    @FunctionalInterface
+    public interface InvalidSequenceHandler {
+        void handle(ValidationException exception) throws ValidationException;
+    }
+
     public static boolean isValidSequence(String seq) {
         seq = seq.toUpperCase();
         for (int i = 0; i < seq.length(); i++) {
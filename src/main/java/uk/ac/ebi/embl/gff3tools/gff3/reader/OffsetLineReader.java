@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Line reader over a byte stream that also tracks where each line starts in that stream.
+ *
+ * <p>Splits lines like {@link java.io.BufferedReader#readLine()}: on {@code \n}, {@code \r} or
+ * {@code \r\n}, without the terminator. Lines are split on the raw bytes and only then decoded, so
+ * the offsets are exact whatever the bytes decode to, malformed input included. The charset must
+ * encode {@code \n} and {@code \r} as single bytes, as UTF-8 and the other ASCII-compatible
+ * charsets do. This lets {@link GFF3FileReader} note the byte offset of the {@code ##FASTA} section
+ * while reading forward instead of searching for it afterwards.
+ */
+final class OffsetLineReader implements Closeable {
+
+    private final InputStream in;
+    private final Charset charset;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+    private long byteOffset;
+    private boolean skipLineFeed;
+    // Bytes of a line that spans more than one buffer-full
+    private byte[] pending = new byte[256];
+    private int pendingLength;
+
+    OffsetLineReader(InputStream in, Charset charset) {
+        this.in = in;
+        this.charset = charset;
+    }
+
+    /**
+     * Byte offset of the start of the next line in the stream. After a line ending in
+     * {@code \r\n} this is the offset of the {@code \n}, which is only consumed by the next call to
+     * {@link #readLine()}.
+     */
+    long byteOffset() {
+        return byteOffset;
+    }
+
+    /** Returns the next line without its terminator, or {@code null} at the end of the input. */
+    String readLine() throws IOException {
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (ensureBuffered() && buffer[position] == '\n') {
+                position++;
+                byteOffset++;
+            }
+        }
+        pendingLength = 0;
+        boolean read = false;
+        while (ensureBuffered()) {
+            read = true;
+            int start = position;
+            while (position < limit) {
+                byte b = buffer[position];
+                if (b == '\n' || b == '\r') {
+                    String result;
+                    if (pendingLength == 0) {
+                        result = new String(buffer, start, position - start, charset);
+                    } else {
+                        appendPending(start, position);
+                        result = new String(pending, 0, pendingLength, charset);
+                    }
+                    position++;
+                    byteOffset += position - start;
+                    skipLineFeed = b == '\r';
+                    return result;
+                }
+                position++;
+            }
+            appendPending(start, position);
+            byteOffset += position - start;
+        }
+        return read ? new String(pending, 0, pendingLength, charset) : null;
+    }
+
+    private void appendPending(int start, int end) {
+        int length = end - start;
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(buffer, start, pending, pendingLength, length);
+        pendingLength += length;
+    }
+
+    private boolean ensureBuffered() throws IOException {
+        while (position == limit) {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read == -1) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
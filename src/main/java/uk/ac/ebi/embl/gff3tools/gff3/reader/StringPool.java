@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3.reader;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used pool that lets equal strings parsed from different lines share one
+ * instance. Columns such as seqId, source and type, attribute keys and the values of a few
+ * attributes such as {@code gbkey} take a handful of distinct values per file; pooling them keeps
+ * one copy each instead of one per feature.
+ *
+ * <p>Callers only pass strings expected to repeat: a unique value such as an ID would cost a map
+ * entry and push out a common value. Only short strings are pooled, and the capacity bounds the
+ * pool should a column turn out to vary more than expected. Not thread-safe; each reader owns its
+ * pool.
+ */
+final class StringPool {
+
+    static final int DEFAULT_CAPACITY = 4096;
+    static final int MAX_POOLED_LENGTH = 64;
+
+    private final Map<String, String> pool;
+
+    StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    StringPool(int capacity) {
+        this.pool = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns the pooled instance equal to {@code s}, adding {@code s} if there is none. */
+    String intern(String s) {
+        if (s == null || s.length() > MAX_POOLED_LENGTH) {
+            return s;
+        }
+        String pooled = pool.putIfAbsent(s, s);
+        return pooled != null ? pooled : s;
+    }
+
+    int size() {
+        return pool.size();
+    }
+}
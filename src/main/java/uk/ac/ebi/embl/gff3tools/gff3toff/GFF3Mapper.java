@@ -42,6 +42,7 @@ import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
 import uk.ac.ebi.embl.gff3tools.gff3.TranslationKey;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.*;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
+import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3TranslationReader;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.OffsetRange;
 import uk.ac.ebi.embl.gff3tools.metadata.AuthorData;
 import uk.ac.ebi.embl.gff3tools.metadata.CrossReference;
@@ -72,7 +73,8 @@ public class GFF3Mapper {
     private final ReferenceFactory referenceFactory = new ReferenceFactory();
     private static final Logger LOGGER = LoggerFactory.getLogger(GFF3Mapper.class);
 
-    Map<String, GFF3Feature> parentFeatures;
+    // The annotation being mapped, whose ID index resolves Parent references
+    GFF3Annotation currentAnnotation;
     // Used to keep track of features that will be merged using a location join
     Map<String, Feature> joinableFeatureMap;
 
@@ -81,13 +83,26 @@ public class GFF3Mapper {
     private final MasterMetadataProvider metadataProvider;
     private final FastaHeaderProvider headerProvider;
     private final SequenceLookup sequenceLookup;
+    // Receives invalid translation sequences; null to report them to the validation engine
+    private final GFF3TranslationReader.InvalidSequenceHandler invalidTranslationHandler;
 
     public GFF3Mapper(GFF3FileReader gff3FileReader, ValidationContext context) {
         this(gff3FileReader, context, null);
     }
 
     public GFF3Mapper(GFF3FileReader gff3FileReader, ValidationContext context, SequenceLookup sequenceLookup) {
-        parentFeatures = new HashMap<>();
+        this(gff3FileReader, context, sequenceLookup, null);
+    }
+
+    /**
+     * Creates a mapper that passes invalid translation sequences to {@code invalidTranslationHandler}
+     * rather than the validation engine, so that it can map annotations off the engine's thread.
+     */
+    public GFF3Mapper(
+            GFF3FileReader gff3FileReader,
+            ValidationContext context,
+            SequenceLookup sequenceLookup,
+            GFF3TranslationReader.InvalidSequenceHandler invalidTranslationHandler) {
         joinableFeatureMap = new HashMap<>();
         entry = null;
         this.gff3FileReader = gff3FileReader;
@@ -96,11 +111,11 @@ public class GFF3Mapper {
         this.headerProvider =
                 context.contains(FastaHeaderProvider.class) ? context.get(FastaHeaderProvider.class) : null;
         this.sequenceLookup = sequenceLookup;
+        this.invalidTranslationHandler = invalidTranslationHandler;
     }
 
     public Entry mapGFF3ToEntry(GFF3Annotation gff3Annotation) throws ValidationException, ReadException {
 
-        parentFeatures.clear();
         joinableFeatureMap.clear();
         entry = entryFactory.createEntry();
         Sequence sequence = sequenceFactory.createSequence();
@@ -124,11 +139,8 @@ public class GFF3Mapper {
         applyMasterMetadata(sequenceRegion, entry, sequence, sourceFeature);
         applyFastaHeader(sequenceRegion, entry, sequence, sourceFeature);
 
-        for (GFF3Feature gff3Feature : gff3Annotation.getFeatures()) {
-            if (gff3Feature.getId().isPresent()) {
-                parentFeatures.put(gff3Feature.getId().get(), gff3Feature);
-            }
-
+        currentAnnotation = gff3Annotation;
+        for (GFF3Feature gff3Feature : gff3Annotation.getFeaturesView()) {
             mapGFF3Feature(gff3Feature, gff3FileReader.getTranslationOffsetMap());
         }
 
@@ -237,8 +249,12 @@ public class GFF3Mapper {
     private void mapTranslation(
             GFF3Feature gff3Feature, Feature ffFeature, String featureId, Map<String, OffsetRange> translationMap) {
         String translationKey = TranslationKey.of(gff3Feature.accession(), featureId);
-        if (translationMap.get(translationKey) != null) {
-            ffFeature.addQualifier("translation", gff3FileReader.getTranslation(translationMap.get(translationKey)));
+        OffsetRange offsetRange = translationMap.get(translationKey);
+        if (offsetRange != null) {
+            String translation = invalidTranslationHandler == null
+                    ? gff3FileReader.getTranslation(offsetRange)
+                    : gff3FileReader.getTranslation(offsetRange, invalidTranslationHandler);
+            ffFeature.addQualifier("translation", translation);
         }
     }
 
@@ -260,8 +276,9 @@ public class GFF3Mapper {
         if (gff3Feature.hasAttribute("gene")) {
             return gff3Feature.getAttribute("gene").get();
         } else if (gff3Feature.getParentId().isPresent()) {
-            GFF3Feature parent = parentFeatures.get(gff3Feature.getParentId().get());
-            return getGeneForFeature(parent);
+            // The segments of a parent share its attributes, so any of them will do.
+            List<GFF3Feature> parents = currentAnnotation.getFeaturesById(gff3Feature.getParentId().get());
+            return getGeneForFeature(parents.isEmpty() ? null : parents.get(parents.size() - 1));
         } else {
             return null;
         }
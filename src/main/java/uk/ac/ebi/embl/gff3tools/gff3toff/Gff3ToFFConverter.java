@@ -12,7 +12,9 @@ package uk.ac.ebi.embl.gff3tools.gff3toff;
 
 import java.io.*;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import uk.ac.ebi.embl.flatfile.writer.embl.EmblEntryWriter;
 import uk.ac.ebi.embl.gff3tools.*;
@@ -20,16 +22,24 @@ import uk.ac.ebi.embl.gff3tools.exception.*;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
+import uk.ac.ebi.embl.gff3tools.utils.OrderedTaskWindow;
 import uk.ac.ebi.embl.gff3tools.validation.*;
 
 @Slf4j
 public class Gff3ToFFConverter implements Converter {
 
+    // Entries mapped or formatted ahead of the writer, per worker thread.
+    private static final int ENTRIES_IN_FLIGHT_PER_THREAD = 4;
+
     ValidationEngine validationEngine;
     Path gff3Path;
     SequenceLookup sequenceLookup;
+    int threads;
     int warningCount = 0;
 
+    // Collected errors already in entry order; those after them were reported while reading entries not yet written.
+    private int orderedErrorCount = 0;
+
     private void addToWarningCount(int c) {
         warningCount += c;
     }
@@ -39,9 +49,20 @@ public class Gff3ToFFConverter implements Converter {
     }
 
     public Gff3ToFFConverter(ValidationEngine validationEngine, Path gff3Path, SequenceLookup sequenceLookup) {
+        this(validationEngine, gff3Path, sequenceLookup, 1);
+    }
+
+    /**
+     * @param threads number of threads mapping and formatting entries ahead of the writer. The
+     *     output, errors and warnings do not depend on it. In fail-fast mode entries are always
+     *     converted one at a time, so that the error thrown is the first one in entry order.
+     */
+    public Gff3ToFFConverter(
+            ValidationEngine validationEngine, Path gff3Path, SequenceLookup sequenceLookup, int threads) {
         this.validationEngine = validationEngine;
         this.gff3Path = gff3Path;
         this.sequenceLookup = sequenceLookup;
+        this.threads = threads;
     }
 
     public void convert(BufferedReader reader, BufferedWriter writer)
@@ -49,16 +70,20 @@ public class Gff3ToFFConverter implements Converter {
 
         try (GFF3FileReader gff3Reader = new GFF3FileReader(validationEngine, reader, gff3Path)) {
             gff3Reader.readHeader();
-            gff3Reader.read(annotation -> {
-                writeEntry(
-                        new GFF3Mapper(gff3Reader, validationEngine.getContext(), sequenceLookup), annotation, writer);
-                List<ValidationException> warnings = validationEngine.getParsingWarnings();
-                for (ValidationException e : warnings) {
-                    log.warn("WARNING: %s".formatted(e.getMessage()));
-                }
-                addToWarningCount(warnings.size());
-                warnings.clear();
-            });
+            // Reading further ahead would validate later entries first, and could throw one of their errors.
+            if (threads > 1 && !validationEngine.isFailFast()) {
+                convertConcurrently(gff3Reader, writer);
+            } else {
+                gff3Reader.read(annotation -> {
+                    writeEntry(
+                            new GFF3Mapper(gff3Reader, validationEngine.getContext(), sequenceLookup),
+                            annotation,
+                            writer);
+                    List<ValidationException> warnings = validationEngine.getParsingWarnings();
+                    logWarnings(warnings);
+                    warnings.clear();
+                });
+            }
 
             // Check for collected errors at end of processing
             int errorCount = validationEngine.getCollectedErrors().size();
@@ -76,6 +101,156 @@ public class Gff3ToFFConverter implements Converter {
         }
     }
 
+    private void logWarnings(List<ValidationException> warnings) {
+        for (ValidationException e : warnings) {
+            log.warn("WARNING: %s".formatted(e.getMessage()));
+        }
+        addToWarningCount(warnings.size());
+    }
+
+    /**
+     * Maps and formats entries on a pool of {@link #threads} workers, a bounded number of entries
+     * ahead of the writer, while the reader and the writer share the calling thread. Everything
+     * that reports to the validation engine is replayed on the calling thread in entry order, and
+     * the errors collected while reading an entry are held back until it is written, so the
+     * output, collected errors and warnings are the same as with one thread. Only used when errors
+     * are collected rather than thrown.
+     */
+    private void convertConcurrently(GFF3FileReader gff3Reader, BufferedWriter writer)
+            throws ReadException, WriteException, ValidationException {
+        try (OrderedTaskWindow<FormattedEntry> window =
+                new OrderedTaskWindow<>(threads, threads * ENTRIES_IN_FLIGHT_PER_THREAD, "embl-format")) {
+            gff3Reader.read(
+                    annotation -> {
+                        List<ValidationException> readErrors = takeUnorderedErrors();
+                        if (window.isFull()) {
+                            writeFormattedEntry(window, writer);
+                        }
+                        if (annotation != null) {
+                            // Locate the translations here, so that the workers only read the offsets.
+                            gff3Reader.getTranslationOffsetMap();
+                        }
+                        List<ValidationException> invalidTranslations = new ArrayList<>();
+                        GFF3Mapper mapper = new GFF3Mapper(
+                                gff3Reader, validationEngine.getContext(), sequenceLookup, invalidTranslations::add);
+                        // Warnings raised while reading this annotation are logged once it is written.
+                        List<ValidationException> warnings = new ArrayList<>(validationEngine.getParsingWarnings());
+                        validationEngine.getParsingWarnings().clear();
+                        window.submit(
+                                () -> formatEntry(mapper, annotation, readErrors, invalidTranslations, warnings));
+                    },
+                    () -> {
+                        List<ValidationException> trailingErrors = takeUnorderedErrors();
+                        while (!window.isEmpty()) {
+                            writeFormattedEntry(window, writer);
+                        }
+                        validationEngine.getCollectedErrors().addAll(trailingErrors);
+                    });
+        }
+    }
+
+    /** Removes and returns the errors collected since the last entry was read or written. */
+    private List<ValidationException> takeUnorderedErrors() {
+        List<ValidationException> collectedErrors = validationEngine.getCollectedErrors();
+        List<ValidationException> unordered = collectedErrors.subList(orderedErrorCount, collectedErrors.size());
+        List<ValidationException> errors = new ArrayList<>(unordered);
+        unordered.clear();
+        return errors;
+    }
+
+    /** Maps and formats one entry on a worker thread, keeping any error for the writer. */
+    private static FormattedEntry formatEntry(
+            GFF3Mapper mapper,
+            GFF3Annotation annotation,
+            List<ValidationException> readErrors,
+            List<ValidationException> invalidTranslations,
+            List<ValidationException> warnings) {
+        if (annotation == null) {
+            return new FormattedEntry(null, null, readErrors, invalidTranslations, warnings);
+        }
+        try {
+            StringWriter text = new StringWriter();
+            EmblEntryWriter entryWriter = new EmblEntryWriter(mapper.mapGFF3ToEntry(annotation));
+            entryWriter.setShowAcStartLine(false);
+            entryWriter.write(text);
+            return new FormattedEntry(text.toString(), null, readErrors, invalidTranslations, warnings);
+        } catch (IOException | ValidationException | ReadException | RuntimeException e) {
+            return new FormattedEntry(null, e, readErrors, invalidTranslations, warnings);
+        }
+    }
+
+    /**
+     * Takes the oldest entry from the window and writes it, reporting its errors and logging its
+     * warnings as {@link #writeEntry} and the sequential loop would have.
+     */
+    private void writeFormattedEntry(OrderedTaskWindow<FormattedEntry> window, BufferedWriter writer)
+            throws WriteException, ValidationException, ReadException {
+        FormattedEntry entry = awaitEntry(window);
+        List<ValidationException> engineWarnings = validationEngine.getParsingWarnings();
+        int laterWarnings = engineWarnings.size();
+        validationEngine.getCollectedErrors().addAll(entry.readErrors());
+
+        for (ValidationException invalidTranslation : entry.invalidTranslations()) {
+            try {
+                validationEngine.handleSyntacticError(invalidTranslation);
+            } catch (ValidationException e) {
+                // As thrown by GFF3TranslationReader when reading the translation.
+                throw new RuntimeException(e);
+            }
+        }
+        if (entry.failure() instanceof ValidationException e) {
+            // Route validation errors through the validation engine for proper handling
+            // (fail-fast vs collect-all-errors mode)
+            validationEngine.handleSyntacticError(e);
+        } else if (entry.failure() instanceof IOException e) {
+            throw new WriteException(e);
+        } else if (entry.failure() instanceof ReadException e) {
+            throw e;
+        } else if (entry.failure() instanceof RuntimeException e) {
+            throw e;
+        } else if (entry.text() != null) {
+            try {
+                writer.write(entry.text());
+            } catch (IOException e) {
+                throw new WriteException(e);
+            }
+        }
+
+        // Warnings reported just now belong to this entry; those before them to entries not yet written.
+        List<ValidationException> entryWarnings = engineWarnings.subList(laterWarnings, engineWarnings.size());
+        List<ValidationException> warnings = new ArrayList<>(entry.warnings());
+        warnings.addAll(entryWarnings);
+        entryWarnings.clear();
+        logWarnings(warnings);
+        orderedErrorCount = validationEngine.getCollectedErrors().size();
+    }
+
+    private static FormattedEntry awaitEntry(OrderedTaskWindow<FormattedEntry> window) throws ReadException {
+        try {
+            return window.next();
+        } catch (ExecutionException e) {
+            // formatEntry keeps its errors, so only an unexpected error gets here.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadException("Interrupted while converting entries");
+        }
+    }
+
+    /**
+     * An entry formatted as EMBL text, or the error that stopped it, with what it has to report to
+     * the validation engine.
+     */
+    private record FormattedEntry(
+            String text,
+            Exception failure,
+            List<ValidationException> readErrors,
+            List<ValidationException> invalidTranslations,
+            List<ValidationException> warnings) {}
+
     /**
      * Writes an EmblEntry to the provided BufferedWriter.
      *
@@ -15,7 +15,6 @@ import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import java.util.*;
-import java.util.stream.Collectors;
 import uk.ac.ebi.embl.gff3tools.exception.FastaHeaderParserException;
 
 public class JsonHeaderParser {
@@ -26,21 +25,11 @@ public class JsonHeaderParser {
 
     public ParsedHeader parse(String headerLine) throws FastaHeaderParserException {
 
-        validateHeaderLine(headerLine);
+        String id = parseId(headerLine);
 
+        // parse header
         String rest = headerLine.substring(1);
         int pipe = rest.indexOf('|');
-
-        // parse id
-        String id = (pipe >= 0 ? rest.substring(0, pipe) : rest).trim();
-        id = id.codePoints()
-                .mapToObj(cp -> cp <= 0x7F ? String.valueOf((char) cp) : "?")
-                .collect(Collectors.joining()); // replace non-ascii char with one char '?' per unicode mark
-        if (Objects.equals(id, "")) {
-            throw new FastaHeaderParserException("FASTA header should contain the id, but no id was provided.");
-        }
-
-        // parse header
         FastaHeader header = new FastaHeader();
         if (pipe >= 0) {
             header = parseHeaderJson(rest.substring(pipe + 1).trim());
@@ -49,16 +38,29 @@ public class JsonHeaderParser {
         return new ParsedHeader(id, header);
     }
 
+    /**
+     * Validates the header line and extracts only the submission id, without parsing the JSON part.
+     * Lets callers that index large FASTA files defer {@link #parse(String)} until a header is needed.
+     */
+    public String parseId(String headerLine) throws FastaHeaderParserException {
+
+        validateHeaderLine(headerLine);
+
+        int pipe = headerLine.indexOf('|', 1);
+        String id = toAscii((pipe >= 0 ? headerLine.substring(1, pipe) : headerLine.substring(1)).trim());
+        if (Objects.equals(id, "")) {
+            throw new FastaHeaderParserException("FASTA header should contain the id, but no id was provided.");
+        }
+        return id;
+    }
+
     private static FastaHeader parseHeaderJson(String raw) throws FastaHeaderParserException {
         if (raw == null || raw.isBlank()) {
             throw new FastaHeaderParserException("FASTA header contains a '|', but no JSON object was provided.");
         }
 
         String normalised = normaliseRawJsonString(raw);
-        normalised = normalised
-                .codePoints()
-                .mapToObj(cp -> cp <= 0x7F ? String.valueOf((char) cp) : "?")
-                .collect(Collectors.joining()); // replace non-ascii char with one char '?' per unicode mark
+        normalised = toAscii(normalised);
 
         try {
             FastaHeader header = MAPPER.readValue(normalised, FastaHeader.class);
@@ -70,6 +72,24 @@ public class JsonHeaderParser {
         }
     }
 
+    /** Replaces every non-ASCII character with one {@code '?'} per unicode code point. */
+    private static String toAscii(String value) {
+        int i = 0;
+        while (i < value.length() && value.charAt(i) <= 0x7F) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length()).append(value, 0, i);
+        while (i < value.length()) {
+            int cp = value.codePointAt(i);
+            sb.append(cp <= 0x7F ? (char) cp : '?');
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
     private static String normaliseRawJsonString(String raw) {
         return raw.replace('\u201C', '"')
                 .replace('\u201D', '"')
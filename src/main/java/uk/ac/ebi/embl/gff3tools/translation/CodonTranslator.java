@@ -11,6 +11,7 @@
 package uk.ac.ebi.embl.gff3tools.translation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +103,11 @@ public class CodonTranslator {
         codonExceptionMap.put(codon.toUpperCase(), aminoAcid);
     }
 
+    /** Codon exceptions registered via {@link #addCodonException}, keyed by upper-case codon. */
+    Map<String, Character> getCodonExceptions() {
+        return Collections.unmodifiableMap(codonExceptionMap);
+    }
+
     public char translateStartCodon(String codonString) throws TranslationException {
         return translateCodon(codonString, translationTable.getStartCodonMap());
     }
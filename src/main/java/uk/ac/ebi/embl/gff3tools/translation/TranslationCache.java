@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.translation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Bounded LRU cache of {@link Translator} results, for inputs where the same CDS sequence is
+ * translated many times (multi-copy genes, repeated contigs).
+ *
+ * <p>Entries are keyed by two independent 64-bit hashes and the length of the assembled nucleotide
+ * bytes, plus a fingerprint of every translator setting that affects the outcome (translation
+ * table, codon_start, strand, partiality, pseudo, fix options and translation exceptions).
+ * Cached {@link TranslationResult}s are shared between hits and must be treated as read-only.
+ *
+ * <p>Safe for concurrent use.
+ */
+public class TranslationCache {
+
+    @Getter
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public TranslationCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > TranslationCache.this.maxEntries;
+            }
+        };
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Builds the lookup key for a sequence translated with the given settings fingerprint. */
+    static Key key(byte[] sequence, String settings) {
+        // FNV-1a and a multiply-xorshift hash over the same bytes; a false hit needs both to collide.
+        long fnv = 0xcbf29ce484222325L;
+        long mix = 0x9e3779b97f4a7c15L;
+        for (byte b : sequence) {
+            fnv = (fnv ^ (b & 0xFF)) * 0x100000001b3L;
+            mix = (mix + (b & 0xFF)) * 0xbf58476d1ce4e5b9L;
+            mix ^= mix >>> 31;
+        }
+        return new Key(fnv, mix, sequence.length, settings);
+    }
+
+    /** Returns the cached entry for {@code key}, counting a hit or a miss. */
+    Entry get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    synchronized void put(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    record Key(long hash1, long hash2, int length, String settings) {}
+
+    /**
+     * A translation result together with the translator state it left behind, so a hit leaves
+     * the {@link Translator} exactly as a fresh translation would.
+     */
+    record Entry(
+            TranslationResult result,
+            boolean fivePrimePartial,
+            boolean threePrimePartial,
+            boolean nonTranslating,
+            Set<String> fixes) {}
+}
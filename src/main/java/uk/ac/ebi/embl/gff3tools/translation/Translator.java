@@ -261,6 +261,73 @@ public class Translator {
         codonTranslator.addCodonException(codon, aminoAcid);
     }
 
+    /**
+     * Translates {@code sequence}, reusing a cached result when the same bytes were already
+     * translated with identical settings. Passing a {@code null} cache is the same as
+     * {@link #translate(byte[])}.
+     *
+     * <p>A cache hit restores the partiality, pseudo and fix state a fresh translation would have
+     * left on this translator. The returned result may be shared and must not be modified.
+     */
+    public TranslationResult translate(byte[] sequence, TranslationCache cache) {
+        if (cache == null || sequence == null) {
+            return translate(sequence);
+        }
+        TranslationCache.Key key = TranslationCache.key(sequence, settingsFingerprint());
+        TranslationCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            fivePrimePartial = cached.fivePrimePartial();
+            threePrimePartial = cached.threePrimePartial();
+            nonTranslating = cached.nonTranslating();
+            fixes.addAll(cached.fixes());
+            return cached.result();
+        }
+        TranslationResult result = translate(sequence);
+        cache.put(
+                key,
+                new TranslationCache.Entry(
+                        result, fivePrimePartial, threePrimePartial, nonTranslating, Set.copyOf(fixes)));
+        return result;
+    }
+
+    /** Encodes every setting that can change the outcome of {@link #translate(byte[])}. */
+    private String settingsFingerprint() {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(codonTranslator.getTranslationTable().getNumber())
+                .append('|')
+                .append(codonStart)
+                .append('|');
+        for (boolean flag : new boolean[] {
+            nonTranslating,
+            isComplement,
+            fivePrimePartial,
+            threePrimePartial,
+            peptideFeature,
+            fixDegenerateStartCodon,
+            fixNoStartCodonMake5Partial,
+            fixCodonStartNotOneMake5Partial,
+            fixNoStopCodonMake3Partial,
+            fixValidStopCodonRemove3Partial,
+            fixNonMultipleOfThreeMake3And5Partial,
+            fixInternalStopCodonMakePseudo,
+            fixDeleteTrailingBasesAfterStopCodon
+        }) {
+            sb.append(flag ? '1' : '0');
+        }
+        new TreeMap<>(positionExceptionMap)
+                .values()
+                .forEach(e -> sb.append("|p")
+                        .append(e.beginPosition)
+                        .append('-')
+                        .append(e.endPosition)
+                        .append(':')
+                        .append(e.aminoAcid));
+        new TreeMap<>(codonTranslator.getCodonExceptions())
+                .forEach((codon, aminoAcid) ->
+                        sb.append("|c").append(codon).append(':').append(aminoAcid));
+        return sb.toString();
+    }
+
     public TranslationResult translate(byte[] sequence) {
         TranslationResult translationResult = new TranslationResult();
 
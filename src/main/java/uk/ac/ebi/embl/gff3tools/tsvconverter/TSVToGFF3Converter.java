@@ -25,9 +25,8 @@ import uk.ac.ebi.embl.gff3tools.exception.*;
 import uk.ac.ebi.embl.gff3tools.fftogff3.GFF3AnnotationFactory;
 import uk.ac.ebi.embl.gff3tools.fftogff3.GFF3DirectivesFactory;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
-import uk.ac.ebi.embl.gff3tools.gff3.GFF3File;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3StreamWriter;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
-import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Species;
 import uk.ac.ebi.embl.gff3tools.utils.ConversionUtils;
 import uk.ac.ebi.embl.gff3tools.utils.SourceFeatureDTO;
 import uk.ac.ebi.embl.gff3tools.utils.SourceFeatureUtils;
@@ -99,9 +98,16 @@ public class TSVToGFF3Converter implements Converter {
     public void convert(BufferedReader reader, BufferedWriter writer)
             throws ReadException, WriteException, ValidationException {
 
-        GFF3Header header = new GFF3Header(GFF3Header.DEFAULT_VERSION);
-        GFF3Species species = null;
-        List<GFF3Annotation> annotations = new ArrayList<>();
+        TranslationState translationState = validationEngine.getContext().contains(TranslationState.class)
+                ? validationEngine.getContext().get(TranslationState.class)
+                : null;
+        // Annotations are written as each row is converted; the translation FASTA follows on close.
+        GFF3StreamWriter gff3Writer = GFF3StreamWriter.builder()
+                .writer(writer)
+                .translationState(translationState)
+                .build();
+        gff3Writer.writeHeader(new GFF3Header(GFF3Header.DEFAULT_VERSION));
+        boolean speciesWritten = false;
 
         GFF3DirectivesFactory directivesFactory = new GFF3DirectivesFactory();
         GFF3AnnotationFactory annotationFactory = new GFF3AnnotationFactory(validationEngine, directivesFactory);
@@ -122,12 +128,13 @@ public class TSVToGFF3Converter implements Converter {
                 // Record organism for each TSV row
                 recordTaxonIdentifier(entry, taxonRegistry);
 
-                if (species == null) {
-                    species = directivesFactory.createSpecies(entry, null);
+                if (!speciesWritten) {
+                    gff3Writer.writeSpecies(directivesFactory.createSpecies(entry, null));
+                    speciesWritten = true;
                 }
 
                 GFF3Annotation newAnnotation = annotationFactory.from(entry);
-                annotations.add(newAnnotation);
+                gff3Writer.writeAnnotation(newAnnotation);
                 String submissionId = newAnnotation.getAccession();
 
                 // write source
@@ -168,19 +175,7 @@ public class TSVToGFF3Converter implements Converter {
             throw new ReadException("Error reading TSV file", e);
         }
 
-        TranslationState translationState = validationEngine.getContext().contains(TranslationState.class)
-                ? validationEngine.getContext().get(TranslationState.class)
-                : null;
-
-        GFF3File file = GFF3File.builder()
-                .header(header)
-                .species(species)
-                .annotations(annotations)
-                .translationState(translationState)
-                .parsingWarnings(validationEngine.getParsingWarnings())
-                .build();
-
-        file.writeGFF3String(writer);
+        gff3Writer.close();
 
         validationEngine.throwIfErrorsCollected();
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip output stream that compresses on a background thread.
+ *
+ * <p>Bytes written are collected into fixed-size chunks which are handed to a compressor thread,
+ * so deflating one chunk overlaps with producing the next. A small pool of chunks bounds memory
+ * and applies back-pressure when compression falls behind. A compression or write failure is
+ * rethrown to the producer on its next write, flush or close.
+ *
+ * <p>Closing the stream finishes the gzip trailer and closes the underlying stream. Not safe for
+ * use by multiple producer threads.
+ */
+public final class AsyncGzipOutputStream extends OutputStream {
+
+    private static final int CHUNK_COUNT = 4;
+
+    private record Chunk(byte[] data, int length) {}
+
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNK_COUNT + 1);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(CHUNK_COUNT);
+    private final Thread compressor;
+    private volatile Throwable failure;
+
+    private byte[] current;
+    private int count;
+    private boolean closed;
+
+    public AsyncGzipOutputStream(OutputStream out, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        GZIPOutputStream gzip = new GZIPOutputStream(out, Math.min(chunkSize, 64 * 1024));
+        for (int i = 0; i < CHUNK_COUNT - 1; i++) {
+            free.add(new byte[chunkSize]);
+        }
+        current = new byte[chunkSize];
+        compressor = new Thread(() -> compress(gzip), "gzip-output");
+        compressor.setDaemon(true);
+        compressor.start();
+    }
+
+    private void compress(GZIPOutputStream gzip) {
+        try {
+            Chunk chunk;
+            while ((chunk = filled.take()) != END) {
+                // After a failure keep draining, so that the producer never blocks on a full queue.
+                if (failure == null) {
+                    try {
+                        gzip.write(chunk.data(), 0, chunk.length());
+                    } catch (Throwable t) {
+                        failure = t;
+                    }
+                }
+                free.add(chunk.data());
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                gzip.close();
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == current.length) {
+            handOver();
+        }
+        current[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == current.length) {
+                handOver();
+            }
+            int n = Math.min(len, current.length - count);
+            System.arraycopy(b, off, current, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /** Passes buffered bytes to the compressor; it does not wait for them to be compressed. */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            handOver();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (count > 0 && failure == null) {
+                filled.put(new Chunk(current, count));
+            }
+            filled.put(END);
+            compressor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing gzip output");
+        }
+        throwIfFailed();
+    }
+
+    private void handOver() throws IOException {
+        throwIfFailed();
+        try {
+            filled.put(new Chunk(current, count));
+            current = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing gzip output");
+        }
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() throws IOException {
+        Throwable t = failure;
+        if (t instanceof IOException e) {
+            throw new IOException("Gzip compression failed", e);
+        } else if (t != null) {
+            throw new IOException("Gzip compression failed", t);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the best {@link ConversionEntry} among the candidates for one feature key or SO term,
+ * with the candidates' qualifier values compiled once.
+ *
+ * <p>The best match is the first candidate, in table order, with the most qualifiers among those
+ * whose qualifiers all match. Candidates that require an exact value are bucketed by one such
+ * qualifier and its case-folded value, so a feature only checks the candidates in the buckets of
+ * the values it has. Candidates without an exact value are always checked.
+ */
+public final class ConversionEntryMatcher {
+
+    /** Values of a feature's qualifiers or attributes by name; {@code null} or empty when it has none. */
+    @FunctionalInterface
+    public interface QualifierValues {
+        List<String> get(String name);
+    }
+
+    private final int size;
+    private final ConversionEntry fallback;
+    /// Candidates by the name and case-folded value of one of their exact qualifiers.
+    private final Map<String, Map<String, List<Candidate>>> exactBuckets = new HashMap<>();
+    /// Candidates with no exact qualifier; always checked.
+    private final List<Candidate> unbucketed = new ArrayList<>();
+
+    /**
+     * @param candidates candidates in table order; must not be empty
+     */
+    public ConversionEntryMatcher(List<ConversionEntry> candidates) {
+        this.size = candidates.size();
+        this.fallback = candidates.stream()
+                .filter(entry -> entry.getQualifiers().isEmpty())
+                .findFirst()
+                .orElse(candidates.get(0));
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = new Candidate(candidates.get(i), i);
+            Map.Entry<String, ValuePattern> bucketKey = candidate.patterns.entrySet().stream()
+                    .filter(pattern -> pattern.getValue().isExact())
+                    .findFirst()
+                    .orElse(null);
+            if (bucketKey == null) {
+                unbucketed.add(candidate);
+            } else {
+                exactBuckets
+                        .computeIfAbsent(bucketKey.getKey(), k -> new HashMap<>())
+                        .computeIfAbsent(foldCase(bucketKey.getValue().expected), k -> new ArrayList<>())
+                        .add(candidate);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Returns the best match, or {@code null} if no candidate matches. */
+    public ConversionEntry bestMatch(QualifierValues values) {
+        Candidate best = null;
+        for (Map.Entry<String, Map<String, List<Candidate>>> buckets : exactBuckets.entrySet()) {
+            List<String> actualValues = values.get(buckets.getKey());
+            if (actualValues == null) {
+                continue;
+            }
+            for (String actualValue : actualValues) {
+                List<Candidate> bucket = buckets.getValue().get(foldCase(actualValue));
+                if (bucket != null) {
+                    best = best(bucket, values, best);
+                }
+            }
+        }
+        best = best(unbucketed, values, best);
+        return best == null ? null : best.entry;
+    }
+
+    /**
+     * Returns the best match, falling back to the first candidate without qualifiers, or else the
+     * first candidate, when none matches.
+     */
+    public ConversionEntry select(QualifierValues values) {
+        ConversionEntry match = bestMatch(values);
+        return match == null ? fallback : match;
+    }
+
+    private static Candidate best(List<Candidate> candidates, QualifierValues values, Candidate best) {
+        for (Candidate candidate : candidates) {
+            if (candidate.isBetterThan(best) && candidate.matches(values)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Folds case so that two strings fold to the same string whenever they are
+     * {@link String#equalsIgnoreCase}.
+     */
+    static String foldCase(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        value.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+
+    private static final class Candidate {
+        final ConversionEntry entry;
+        final int index;
+        final Map<String, ValuePattern> patterns = new HashMap<>();
+
+        Candidate(ConversionEntry entry, int index) {
+            this.entry = entry;
+            this.index = index;
+            entry.getQualifiers().forEach((name, value) -> patterns.put(name, ValuePattern.compile(value)));
+        }
+
+        boolean isBetterThan(Candidate other) {
+            return other == null
+                    || patterns.size() > other.patterns.size()
+                    || (patterns.size() == other.patterns.size() && index < other.index);
+        }
+
+        boolean matches(QualifierValues values) {
+            for (Map.Entry<String, ValuePattern> pattern : patterns.entrySet()) {
+                List<String> actualValues = values.get(pattern.getKey());
+                if (actualValues == null || !anyMatch(pattern.getValue(), actualValues)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean anyMatch(ValuePattern pattern, List<String> actualValues) {
+            for (String actualValue : actualValues) {
+                if (pattern.matches(actualValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * An expected qualifier value from the mapping table, which may hold a {@code <NAME>} placeholder
+     * (one or more characters) or a {@code *} glob (zero or more characters). Matching ignores case.
+     */
+    public static final class ValuePattern {
+        /// A {@code <NAME>} placeholder anywhere in a value.
+        static final Pattern PLACEHOLDER = Pattern.compile("<[^>]+>");
+
+        private final String expected;
+        private final boolean exact;
+        private final String prefix;
+        private final String suffix;
+        private final int minLength;
+        private final boolean asciiAffixes;
+
+        private ValuePattern(String expected, boolean exact, String prefix, String suffix, int minLength) {
+            this.expected = expected;
+            this.exact = exact;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.minLength = minLength;
+            this.asciiAffixes = isAscii(prefix) && isAscii(suffix);
+        }
+
+        public static ValuePattern compile(String expectedValue) {
+            if (PLACEHOLDER.matcher(expectedValue).find()) {
+                String prefix = expectedValue.substring(0, expectedValue.indexOf('<'));
+                String suffix = expectedValue.substring(expectedValue.lastIndexOf('>') + 1);
+                // The placeholder must match at least one character
+                return new ValuePattern(expectedValue, false, prefix, suffix, prefix.length() + suffix.length() + 1);
+            }
+            int starIndex = expectedValue.indexOf('*');
+            if (starIndex >= 0) {
+                String prefix = expectedValue.substring(0, starIndex);
+                String suffix = expectedValue.substring(starIndex + 1);
+                return new ValuePattern(expectedValue, false, prefix, suffix, prefix.length() + suffix.length());
+            }
+            return new ValuePattern(expectedValue, true, "", "", 0);
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+
+        public boolean matches(String actualValue) {
+            if (exact) {
+                return actualValue.equalsIgnoreCase(expected);
+            }
+            if (actualValue.length() < minLength) {
+                return false;
+            }
+            if (asciiAffixes && isAscii(actualValue)) {
+                // Compares in place; lowercasing ASCII cannot change the length.
+                return actualValue.regionMatches(true, 0, prefix, 0, prefix.length())
+                        && actualValue.regionMatches(
+                                true, actualValue.length() - suffix.length(), suffix, 0, suffix.length());
+            }
+            String lowerValue = actualValue.toLowerCase();
+            return lowerValue.startsWith(prefix.toLowerCase()) && lowerValue.endsWith(suffix.toLowerCase());
+        }
+
+        private static boolean isAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -26,6 +26,9 @@ public enum ConversionUtils {
     INSTANCE;
     private Map<String, List<ConversionEntry>> ff2gff3 = null;
     private Map<String, List<ConversionEntry>> gff32ff = null;
+    // The candidates of ff2gff3 and gff32ff, compiled for selecting the best match
+    private Map<String, ConversionEntryMatcher> ff2gff3Matchers = null;
+    private Map<String, ConversionEntryMatcher> gff32ffMatchers = null;
     private Map<String, String> ff2gff3Qualifiers = null;
     private Map<String, String> gff32ffQualifiers = null;
     // Map of child : list of possible parents
@@ -35,7 +38,7 @@ public enum ConversionUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConversionUtils.class);
 
     // Pattern to detect wildcard placeholders like <NAME> or <length of feature> anywhere in a value
-    public static final Pattern WILDCARD_TEXT = Pattern.compile("<[^>]+>");
+    public static final Pattern WILDCARD_TEXT = ConversionEntryMatcher.ValuePattern.PLACEHOLDER;
 
     /**
      * Checks whether an actual qualifier value matches an expected value that may contain
@@ -47,9 +50,6 @@ public enum ConversionUtils {
      *   <li>{@code *} — glob wildcard, matches <b>0 or more</b> characters</li>
      * </ul>
      *
-     * <p>Uses string prefix/suffix matching instead of regex for performance, since this is
-     * called per qualifier per feature (potentially millions of times for large files).
-     *
      * <p>Examples:
      * <ul>
      *   <li>{@code "transposon*"} matches {@code "transposon"}, {@code "transposon:Ac"}</li>
@@ -57,67 +57,15 @@ public enum ConversionUtils {
      *   <li>{@code "<NAME>"} matches {@code "anything"} (any non-empty value)</li>
      * </ul>
      *
+     * <p>Conversion compiles the expected values of the mapping table once, with
+     * {@link ConversionEntryMatcher}; this compiles {@code expectedValue} on every call.
+     *
      * @param expectedValue the expected value from the mapping TSV, possibly with wildcards
      * @param actualValue the actual qualifier value from the feature
      * @return true if the actual value matches the expected value (with wildcard expansion)
      */
     public static boolean matchesWildcardValue(String expectedValue, String actualValue) {
-        boolean hasNamedWildcard = WILDCARD_TEXT.matcher(expectedValue).find();
-        boolean hasGlob = expectedValue.contains("*");
-
-        if (!hasNamedWildcard && !hasGlob) {
-            return actualValue.equalsIgnoreCase(expectedValue);
-        }
-
-        if (hasNamedWildcard) {
-            return matchesNamedWildcard(expectedValue, actualValue);
-        }
-
-        return matchesGlob(expectedValue, actualValue);
-    }
-
-    /**
-     * Matches a named wildcard pattern like {@code "prefix<NAME>suffix"}.
-     * The wildcard must match at least one character.
-     */
-    private static boolean matchesNamedWildcard(String expectedValue, String actualValue) {
-        int wildcardStart = expectedValue.indexOf('<');
-        String prefix = expectedValue.substring(0, wildcardStart);
-
-        int wildcardEnd = expectedValue.lastIndexOf('>');
-        String suffix = expectedValue.substring(wildcardEnd + 1);
-
-        // The actual value must be at least as long as the literal parts combined,
-        // plus at least one character for the wildcard
-        if (actualValue.length() < prefix.length() + suffix.length() + 1) {
-            return false;
-        }
-
-        return actualValue.toLowerCase().startsWith(prefix.toLowerCase())
-                && actualValue.toLowerCase().endsWith(suffix.toLowerCase());
-    }
-
-    /**
-     * Matches a glob pattern where {@code *} matches zero or more characters.
-     * Only supports a single {@code *} at the end of the pattern (trailing glob).
-     *
-     * <p>Examples:
-     * <ul>
-     *   <li>{@code "transposon*"} matches {@code "transposon"}, {@code "transposon:Ac"}</li>
-     *   <li>{@code "*"} matches any value including empty string</li>
-     * </ul>
-     */
-    private static boolean matchesGlob(String expectedValue, String actualValue) {
-        int starIndex = expectedValue.indexOf('*');
-        String prefix = expectedValue.substring(0, starIndex);
-        String suffix = expectedValue.substring(starIndex + 1);
-
-        if (actualValue.length() < prefix.length() + suffix.length()) {
-            return false;
-        }
-
-        return actualValue.toLowerCase().startsWith(prefix.toLowerCase())
-                && actualValue.toLowerCase().endsWith(suffix.toLowerCase());
+        return ConversionEntryMatcher.ValuePattern.compile(expectedValue).matches(actualValue);
     }
 
     private ConversionUtils() {
@@ -150,16 +98,16 @@ public enum ConversionUtils {
      * @return the best matching ConversionEntry, or null if no mapping found
      */
     public static ConversionEntry getINSDCFeatureForSOTerm(String SOTerm, Map<String, List<String>> gff3Attributes) {
-        List<ConversionEntry> candidates = INSTANCE.gff32ff.get(SOTerm);
+        ConversionEntryMatcher candidates = INSTANCE.gff32ffMatchers.get(SOTerm);
 
-        if (candidates == null || candidates.isEmpty()) {
+        if (candidates == null) {
             LOGGER.info("SOTerm \"%s\" not found in tsv mapping. Search for matches using ontology parents"
                     .formatted(SOTerm));
             Stream<String> parents = INSTANCE.ontologyClient.getParents(SOTerm);
             for (Iterator<String> it = parents.iterator(); it.hasNext(); ) {
                 String parent = it.next();
-                candidates = INSTANCE.gff32ff.get(parent);
-                if (candidates != null && !candidates.isEmpty()) {
+                candidates = INSTANCE.gff32ffMatchers.get(parent);
+                if (candidates != null) {
                     LOGGER.info("SOTerm \"%s\" found ontology parent \"%s\" with %d candidate(s)"
                             .formatted(SOTerm, parent, candidates.size()));
                     break;
@@ -167,7 +115,7 @@ public enum ConversionUtils {
             }
         }
 
-        ConversionEntry result = selectBestMatch(candidates, gff3Attributes);
+        ConversionEntry result = candidates == null ? null : candidates.select(gff3Attributes::get);
         if (result != null) {
             LOGGER.debug("SOTerm \"%s\" mapped to INSDC feature \"%s\"".formatted(SOTerm, result.getFeature()));
         }
@@ -175,59 +123,11 @@ public enum ConversionUtils {
     }
 
     /**
-     * Selects the best matching ConversionEntry from candidates based on qualifier matching.
-     * Prefers entries with the most matching qualifiers. Falls back to entries with no
-     * qualifier requirements if no specific match is found.
-     *
-     * @return the best matching entry, or null if candidates is null or empty
-     */
-    private static ConversionEntry selectBestMatch(
-            List<ConversionEntry> candidates, Map<String, List<String>> gff3Attributes) {
-        if (candidates == null || candidates.isEmpty()) {
-            return null;
-        }
-
-        return candidates.stream()
-                .filter(entry -> hasAllRequiredQualifiers(entry, gff3Attributes))
-                .max(Comparator.comparingInt(entry -> entry.getQualifiers().size()))
-                .orElseGet(
-                        () ->
-                                // Fallback: entry with no qualifier requirements
-                                candidates.stream()
-                                        .filter(entry -> entry.getQualifiers().isEmpty())
-                                        .findFirst()
-                                        .orElse(candidates.get(0)) // Last resort: first candidate
-                        );
-    }
-
-    /**
-     * Checks if all required qualifiers from the ConversionEntry are present in the GFF3 attributes.
-     * Supports wildcard matching for qualifier values (e.g., {@code <length of feature>}).
-     *
-     * <p>Note: This method mirrors {@link uk.ac.ebi.embl.gff3tools.fftogff3.FeatureMapping#hasAllQualifiers}
-     * which performs the same logic for the FF→GFF3 direction using EMBL Feature objects.
+     * Returns the compiled candidates for an INSDC feature key, or {@code null} if the key has no
+     * mapping.
      */
-    private static boolean hasAllRequiredQualifiers(ConversionEntry entry, Map<String, List<String>> gff3Attributes) {
-        Map<String, String> requiredQualifiers = entry.getQualifiers();
-
-        for (Map.Entry<String, String> required : requiredQualifiers.entrySet()) {
-            String qualifierName = required.getKey();
-            String expectedValue = required.getValue();
-
-            List<String> actualValues = gff3Attributes.get(qualifierName);
-            if (actualValues == null || actualValues.isEmpty()) {
-                return false;
-            }
-
-            // Check if any actual value matches (supports wildcards like "transposon*" or "<NAME>")
-            boolean matches =
-                    actualValues.stream().anyMatch(actualValue -> matchesWildcardValue(expectedValue, actualValue));
-
-            if (!matches) {
-                return false;
-            }
-        }
-        return true;
+    public static ConversionEntryMatcher getFF2GFF3FeatureMatcher(String featureName) {
+        return INSTANCE.ff2gff3Matchers.get(featureName);
     }
 
     public static OntologyClient getOntologyClient() {
@@ -305,6 +205,12 @@ public enum ConversionUtils {
         gff32ff.computeIfAbsent(conversionEntry.sOID, k -> new ArrayList<>()).add(conversionEntry);
     }
 
+    private static Map<String, ConversionEntryMatcher> compileMatchers(Map<String, List<ConversionEntry>> entries) {
+        Map<String, ConversionEntryMatcher> matchers = new HashMap<>();
+        entries.forEach((key, candidates) -> matchers.put(key, new ConversionEntryMatcher(candidates)));
+        return matchers;
+    }
+
     private void loadMaps() {
         try {
             ff2gff3 = new HashMap<>();
@@ -321,6 +227,8 @@ public enum ConversionUtils {
                         Arrays.stream(parts).skip(4).toArray(n -> new String[n]));
                 addConversionEntry(conversionEntry);
             }
+            ff2gff3Matchers = compileMatchers(ff2gff3);
+            gff32ffMatchers = compileMatchers(gff32ff);
 
             ff2gff3Qualifiers = new HashMap<>();
             gff32ffQualifiers = new HashMap<>();
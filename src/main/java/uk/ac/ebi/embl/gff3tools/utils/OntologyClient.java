@@ -12,7 +12,7 @@ package uk.ac.ebi.embl.gff3tools.utils;
 
 import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
@@ -32,8 +32,13 @@ public class OntologyClient {
     private OWLDataFactory dataFactory;
     private OWLReasoner reasoner;
 
-    Map<String, Optional<String>> searchCache = new HashMap<>();
-    Map<String, Set<String>> descendantsCache = new HashMap<>();
+    Map<String, Optional<String>> searchCache = new ConcurrentHashMap<>();
+    /// Dense index of every SO ID in the ontology; read-only once the ontology has loaded.
+    private Map<String, Integer> termIndexes = Map.of();
+    /// For each term index, the indexes of the term itself and all of its descendants.
+    private BitSet[] selfAndDescendants = new BitSet[0];
+    /// For each term index, the SO IDs of all of the term's ancestors, in the order the reasoner lists them.
+    private List<List<String>> ancestors = List.of();
 
     public static OntologyClient getInstance() {
         INSTANCE.initClient();
@@ -58,7 +63,7 @@ public class OntologyClient {
             // Initialize the reasoner after the ontology is loaded
             OWLReasonerFactory reasonerFactory = new StructuralReasonerFactory();
             this.reasoner = reasonerFactory.createReasoner(ontology);
-            precomputeDescendants();
+            precomputeHierarchy();
             LOGGER.info("SO Ontology loaded successfully.");
         } catch (OWLOntologyCreationException e) {
             LOGGER.error("Error loading SO Ontology: " + e.getMessage(), e);
@@ -75,7 +80,7 @@ public class OntologyClient {
      * @return true if the child term is a child of the parent term, false otherwise.
      */
     public boolean isSelfOrDescendantOf(String childOntologyId, String parentOntologyId) {
-        if (ontology == null || descendantsCache == null) {
+        if (ontology == null) {
             LOGGER.warn("Ontology or descendants cache not loaded. Cannot check for child relationship.");
             return false;
         }
@@ -84,24 +89,51 @@ public class OntologyClient {
             return true;
         }
 
-        Set<String> descendants = descendantsCache.get(parentOntologyId);
-        return descendants != null && descendants.contains(childOntologyId);
+        Integer parentIndex = termIndexes.get(parentOntologyId);
+        Integer childIndex = termIndexes.get(childOntologyId);
+        return parentIndex != null && childIndex != null && selfAndDescendants[parentIndex].get(childIndex);
     }
 
-    private void precomputeDescendants() {
-        LOGGER.info("Precomputing ontology descendants...");
+    /**
+     * Numbers every SO term densely and stores the descendants of each term as a bit set over those
+     * numbers, so that an ancestry check is two map lookups and a bit test. The ancestors of each
+     * term are stored too, so that {@link #getParents} does not need the reasoner after loading.
+     */
+    private void precomputeHierarchy() {
+        LOGGER.info("Precomputing ontology descendants and ancestors...");
+        Map<String, Integer> indexes = new HashMap<>();
+        List<OWLClass> classes = new ArrayList<>();
         for (OWLClass owlClass : ontology.getClassesInSignature()) {
             String soId = extractOntologyId(owlClass.getIRI());
-            if (soId != null) {
-                Set<String> descendants = reasoner.getSubClasses(owlClass, false).getFlattened().stream()
-                        .map(OWLClass::getIRI)
-                        .map(this::extractOntologyId)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toSet());
-                descendantsCache.put(soId, descendants);
+            if (soId != null && indexes.putIfAbsent(soId, indexes.size()) == null) {
+                classes.add(owlClass);
             }
         }
-        LOGGER.info("Ontology descendants precomputed.");
+
+        BitSet[] descendantSets = new BitSet[classes.size()];
+        List<List<String>> ancestorLists = new ArrayList<>(classes.size());
+        for (int i = 0; i < classes.size(); i++) {
+            BitSet descendants = new BitSet();
+            descendants.set(i);
+            reasoner.getSubClasses(classes.get(i), false).getFlattened().stream()
+                    .map(OWLClass::getIRI)
+                    .map(this::extractOntologyId)
+                    .map(indexes::get)
+                    .filter(Objects::nonNull)
+                    .forEach(descendants::set);
+            descendantSets[i] = descendants;
+
+            ancestorLists.add(reasoner.getSuperClasses(classes.get(i), false).entities()
+                    .map(HasIRI::getIRI)
+                    .map(this::extractOntologyId)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        this.termIndexes = Map.copyOf(indexes);
+        this.selfAndDescendants = descendantSets;
+        this.ancestors = List.copyOf(ancestorLists);
+        LOGGER.info("Ontology descendants and ancestors precomputed for {} terms.", classes.size());
     }
 
     /**
@@ -120,7 +152,11 @@ public class OntologyClient {
         if (cachedResult != null) {
             return cachedResult;
         }
+        return searchTermByNameOrSynonym(nameOrSynonym);
+    }
 
+    // The ontology builds its annotation indexes on first use, which is not safe from several threads.
+    private synchronized Optional<String> searchTermByNameOrSynonym(String nameOrSynonym) {
         final String searchLower = nameOrSynonym.toLowerCase();
 
         for (OWLClass owlClass : ontology.getClassesInSignature()) {
@@ -193,7 +229,17 @@ public class OntologyClient {
      * @return true if the string matches the expected format, false otherwise.
      */
     public boolean isValidOntologyId(String ontologyId) {
-        return ontologyId != null && ontologyId.matches("SO:[0-9]{7}");
+        // Equivalent to matching SO:[0-9]{7}, without a regex or a Matcher per call
+        if (ontologyId == null || ontologyId.length() != 10 || !ontologyId.startsWith("SO:")) {
+            return false;
+        }
+        for (int i = 3; i < 10; i++) {
+            char c = ontologyId.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -225,17 +271,15 @@ public class OntologyClient {
     }
 
     ///  Returns the list of parents (as SOIds) for a given SOTerm.
+    ///  The parents are precomputed when the ontology loads; unknown terms have none.
     public Stream<String> getParents(String SOTerm) {
         if (SOTerm == null || SOTerm.isEmpty()) {
             return Stream.empty();
         }
 
         if (isValidOntologyId(SOTerm)) {
-            OWLClass owlClass = dataFactory.getOWLClass(IRI.create(OBOLIBRARY_IRI_BASE + SOTerm.replace(":", "_")));
-            return reasoner.getSuperClasses(owlClass, false)
-                    .entities()
-                    .map(HasIRI::getIRI)
-                    .map(this::extractOntologyId);
+            Integer index = termIndexes.get(SOTerm);
+            return index == null ? Stream.empty() : ancestors.get(index).stream();
         } else {
             return findTermByNameOrSynonym(SOTerm).map(this::getParents).orElse(Stream.empty());
         }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded window of tasks running on a worker pool, whose results are taken back in submission
+ * order.
+ *
+ * <p>The submitting thread keeps the window topped up with {@link #submit} and takes the oldest
+ * result with {@link #next} once the window {@link #isFull() is full}. Work therefore runs ahead of
+ * the consumer by at most the window's capacity, which bounds memory, and anything done with the
+ * results stays on one thread and in input order. Not safe for use by more than one submitting
+ * thread.
+ */
+public final class OrderedTaskWindow<T> implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Deque<Future<T>> pending;
+    private final int capacity;
+
+    /**
+     * @param threads number of worker threads
+     * @param capacity maximum number of tasks submitted but not yet taken back
+     * @param threadName prefix of the worker thread names
+     */
+    public OrderedTaskWindow(int threads, int capacity, String threadName) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, threadName + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.capacity = capacity;
+        this.pending = new ArrayDeque<>(capacity);
+    }
+
+    public boolean isFull() {
+        return pending.size() >= capacity;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public void submit(Callable<T> task) {
+        if (isFull()) {
+            throw new IllegalStateException("Window is full; take a result before submitting");
+        }
+        pending.add(executor.submit(task));
+    }
+
+    /**
+     * Waits for the oldest task and returns its result.
+     *
+     * @throws ExecutionException if the task threw; the cause is the task's exception
+     */
+    public T next() throws ExecutionException, InterruptedException {
+        return pending.remove().get();
+    }
+
+    /** Stops the workers, cancelling any tasks whose results were not taken. */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -20,6 +20,7 @@ import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
+import uk.ac.ebi.embl.gff3tools.validation.provider.AnnotationFeatureIndex;
 
 public class ValidationUtils {
 
@@ -56,12 +57,29 @@ public class ValidationUtils {
      */
     public static Map<String, List<GFF3Feature>> groupFeaturesById(
             GFF3Annotation annotation, Predicate<GFF3Feature> selector) {
-        return annotation.getFeatures().stream()
+        return annotation.getFeaturesView().stream()
                 .filter(feature -> feature != null && selector.test(feature))
                 .collect(Collectors.groupingBy(
                         ValidationUtils::featureGroupKey, LinkedHashMap::new, Collectors.toList()));
     }
 
+    /**
+     * Returns the annotation's CDS features grouped as {@link #groupFeaturesById} groups them. The
+     * groups are shared through the context's {@link AnnotationFeatureIndex} when one is registered,
+     * so callers must not modify them.
+     */
+    public static Map<String, List<GFF3Feature>> cdsGroups(ValidationContext context, GFF3Annotation annotation) {
+        if (context.contains(AnnotationFeatureIndex.class)) {
+            return context.get(AnnotationFeatureIndex.class).cdsGroups(annotation);
+        }
+        return groupFeaturesById(annotation, ValidationUtils::isCds);
+    }
+
+    /** Whether the feature is a CDS by name, as translation keys CDS features. */
+    public static boolean isCds(GFF3Feature feature) {
+        return OntologyTerm.CDS.name().equals(feature.getName());
+    }
+
     /**
      * The key a feature is grouped under: its ID, or its coordinates when it has none. Features
      * without an ID cannot share a key, so each is treated as a feature in its own right.
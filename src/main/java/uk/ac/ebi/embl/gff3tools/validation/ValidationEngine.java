@@ -31,6 +31,15 @@ public class ValidationEngine implements AutoCloseable {
     private final ValidationRegistry validationRegistry;
     private final ValidationContext context;
 
+    // The enabled rules for each target type, by priority tier; built on the first validate().
+    private Map<ValidationType, List<Tier>> tiersByType;
+
+    /** A fix or validation method with its annotation resolved against the config. */
+    private record Rule(ValidatorDescriptor descriptor, String rule, RuleSeverity severity) {}
+
+    /** The enabled fixes and validations of one priority tier that apply to one target type. */
+    private record Tier(Rule[] fixes, Rule[] validations) {}
+
     ValidationEngine(
             ValidationConfig validationConfig,
             ValidationRegistry validationRegistry,
@@ -48,20 +57,97 @@ public class ValidationEngine implements AutoCloseable {
         return context;
     }
 
+    /** Whether the first error is thrown rather than collected. */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
     /**
      * Executes fixes and validations interleaved by priority tier.
      * For each tier (CRITICAL → HIGH → NORMAL → LOW), fixes run first, then validations.
      * In fail-fast mode, an error at a given tier prevents lower-priority tiers from executing.
+     *
+     * <p>Only the rules that apply to the target's type and are enabled run, and tiers without
+     * any are skipped. Which rules those are is worked out once, on the first call, so the
+     * configuration must be settled by then.
      */
     public <T> void validate(T target, int line) throws ValidationException {
+        ValidationType type;
+        if (target instanceof GFF3Feature) {
+            type = ValidationType.FEATURE;
+        } else if (target instanceof GFF3Annotation) {
+            type = ValidationType.ANNOTATION;
+        } else {
+            return;
+        }
+        if (tiersByType == null) {
+            tiersByType = buildTiers();
+        }
+
+        for (Tier tier : tiersByType.getOrDefault(type, List.of())) {
+            for (Rule fix : tier.fixes()) {
+                invoke(fix, target, line);
+            }
+            for (Rule validation : tier.validations()) {
+                invoke(validation, target, line);
+            }
+        }
+    }
+
+    private void invoke(Rule rule, Object target, int line) throws ValidationException {
+        try {
+            rule.descriptor().method().invoke(rule.descriptor().instance(), target, line);
+        } catch (Exception e) {
+            handleRuleException(e, rule.severity(), rule.rule());
+        }
+    }
+
+    private Map<ValidationType, List<Tier>> buildTiers() {
         Map<ValidationPriority, List<ValidatorDescriptor>> fixesByPriority = validationRegistry.getFixesByPriority();
         Map<ValidationPriority, List<ValidatorDescriptor>> validationsByPriority =
                 validationRegistry.getValidationsByPriority();
 
-        for (ValidationPriority priority : ValidationPriority.values()) {
-            executeFixes(target, line, fixesByPriority.getOrDefault(priority, List.of()));
-            executeValidations(target, line, validationsByPriority.getOrDefault(priority, List.of()));
+        Map<ValidationType, List<Tier>> tiers = new EnumMap<>(ValidationType.class);
+        for (ValidationType type : List.of(ValidationType.FEATURE, ValidationType.ANNOTATION)) {
+            List<Tier> typeTiers = new ArrayList<>();
+            for (ValidationPriority priority : ValidationPriority.values()) {
+                Rule[] fixes = enabledFixes(fixesByPriority.getOrDefault(priority, List.of()), type);
+                Rule[] validations = enabledValidations(validationsByPriority.getOrDefault(priority, List.of()), type);
+                if (fixes.length > 0 || validations.length > 0) {
+                    typeTiers.add(new Tier(fixes, validations));
+                }
+            }
+            tiers.put(type, List.copyOf(typeTiers));
+        }
+        return tiers;
+    }
+
+    private Rule[] enabledFixes(List<ValidatorDescriptor> fixes, ValidationType type) {
+        List<Rule> rules = new ArrayList<>();
+        for (ValidatorDescriptor fix : fixes) {
+            FixMethod methodAnnotation = fix.method().getAnnotation(FixMethod.class);
+            if (methodAnnotation.type() == type
+                    && validationConfig.getFix(methodAnnotation.rule(), methodAnnotation.enabled())) {
+                rules.add(new Rule(fix, methodAnnotation.rule(), null));
+            }
+        }
+        return rules.toArray(Rule[]::new);
+    }
+
+    private Rule[] enabledValidations(List<ValidatorDescriptor> validations, ValidationType type) {
+        List<Rule> rules = new ArrayList<>();
+        for (ValidatorDescriptor validation : validations) {
+            ValidationMethod methodAnnotation = validation.method().getAnnotation(ValidationMethod.class);
+            if (methodAnnotation.type() != type) {
+                continue;
+            }
+            RuleSeverity ruleSeverity =
+                    validationConfig.getSeverity(methodAnnotation.rule(), methodAnnotation.severity());
+            if (ruleSeverity != RuleSeverity.OFF) {
+                rules.add(new Rule(validation, methodAnnotation.rule(), ruleSeverity));
+            }
         }
+        return rules.toArray(Rule[]::new);
     }
 
     public <T> void executeValidations(T target, int line) throws ValidationException {
@@ -155,8 +155,8 @@ public class ValidationEngineBuilder {
      * {@code default-rule-severities.properties}, so only the supplied rules change.
      *
      * <p>This filters at execution: the validation is still registered, but {@link ValidationEngine}
-     * consults the severity on every run, skipping the rule when it is {@code OFF} and otherwise
-     * governing how a violation is reported.
+     * leaves it out of the rules it runs when the severity is {@code OFF}, at no further cost, and
+     * otherwise uses the severity to govern how a violation is reported.
      *
      * @param map {@code @ValidationMethod.rule()} to severity overrides
      * @return this builder for chaining
@@ -172,7 +172,7 @@ public class ValidationEngineBuilder {
      * defaults, so only the supplied fixes change.
      *
      * <p>This filters at execution: the fix is still registered, but {@link ValidationEngine}
-     * skips it or includes it on every run.
+     * leaves a disabled fix out of the rules it runs.
      *
      * @param map {@code @FixMethod.rule()} to enabled flag overrides
      * @return this builder for chaining
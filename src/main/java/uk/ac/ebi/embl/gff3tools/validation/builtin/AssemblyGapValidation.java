@@ -64,7 +64,7 @@ public class AssemblyGapValidation implements Validation {
     @ValidationMethod(rule = VALIDATION_RULE, type = ValidationType.FEATURE)
     public void validateGapFeature(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isPresent()) {
             String soId = soIdOpt.get();
             boolean hasGapType = feature.hasAttribute(GFF3Attributes.GAP_TYPE);
@@ -37,7 +37,7 @@ public class AttributesLocationValidation implements Validation {
 
     @ValidationMethod(rule = "ANTI_CODON_LOCATION", type = ValidationType.ANNOTATION)
     public void validateAntiCodon(GFF3Annotation gff3Annotation, int line) throws ValidationException {
-        Map<String, List<GFF3Feature>> grouped = gff3Annotation.getFeatures().stream()
+        Map<String, List<GFF3Feature>> grouped = gff3Annotation.getFeaturesView().stream()
                 .filter(f -> f.hasAttribute(ANTI_CODON))
                 .collect(Collectors.groupingBy(feature -> feature.getId().orElse(feature.hashCodeString())));
 
@@ -46,7 +46,7 @@ public class AttributesLocationValidation implements Validation {
 
     @ValidationMethod(rule = "TRANSL_EXCEPT_LOCATION", type = ValidationType.ANNOTATION)
     public void validateTranslExcept(GFF3Annotation gff3Annotation, int line) throws ValidationException {
-        Map<String, List<GFF3Feature>> grouped = gff3Annotation.getFeatures().stream()
+        Map<String, List<GFF3Feature>> grouped = gff3Annotation.getFeaturesView().stream()
                 .filter(f -> f.hasAttribute(TRANSL_EXCEPT))
                 .collect(Collectors.groupingBy(feature -> feature.getId().orElse(feature.hashCodeString())));
 
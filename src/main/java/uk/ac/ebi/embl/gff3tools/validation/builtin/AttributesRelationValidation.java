@@ -107,7 +107,7 @@ public class AttributesRelationValidation implements Validation {
 
     @ValidationMethod(rule = "REQUIRED_ATTRIBUTES", type = ValidationType.ANNOTATION)
     public void validateRequiredAttributes(GFF3Annotation annotation, int line) throws ValidationException {
-        Set<String> presentQualifiers = annotation.getFeatures().stream()
+        Set<String> presentQualifiers = annotation.getFeaturesView().stream()
                 .flatMap(f -> f.getAttributeKeys().stream())
                 .collect(Collectors.toSet());
 
@@ -200,7 +200,7 @@ public class AttributesRelationValidation implements Validation {
     public void validateCircularRNAAttribute(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         String featureName = feature.getName();
-        Optional<String> soOptId = ontologyClient.findTermByNameOrSynonym(featureName);
+        Optional<String> soOptId = feature.getSoId(ontologyClient);
         if (soOptId.isEmpty()) {
             return;
         }
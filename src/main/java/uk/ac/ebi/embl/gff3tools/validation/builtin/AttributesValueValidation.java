@@ -77,7 +77,7 @@ public class AttributesValueValidation implements Validation {
 
                 boolean matches = patterns.stream().anyMatch(product::matches);
                 if (matches) {
-                    Optional<String> featureSoIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+                    Optional<String> featureSoIdOpt = feature.getSoId(ontologyClient);
                     boolean featureExists =
                             featureSoIdOpt.map(expectedSoId::equals).orElse(false);
 
@@ -108,7 +108,7 @@ public class AttributesValueValidation implements Validation {
             severity = RuleSeverity.WARN)
     public void validateAttributeValueDependency(GFF3Annotation annotation, int line) throws ValidationException {
 
-        boolean has12SrRNA = annotation.getFeatures().stream().anyMatch(f -> f.getAttributeList(GENE)
+        boolean has12SrRNA = annotation.getFeaturesView().stream().anyMatch(f -> f.getAttributeList(GENE)
                 .map(values -> values.stream().anyMatch("12S rRNA"::equalsIgnoreCase))
                 .orElse(false));
 
@@ -116,7 +116,7 @@ public class AttributesValueValidation implements Validation {
             return;
         }
 
-        boolean hasInvalidOrganelle = annotation.getFeatures().stream()
+        boolean hasInvalidOrganelle = annotation.getFeaturesView().stream()
                 .filter(f -> f.hasAttribute(ORGANELLE))
                 .anyMatch(f -> f.getAttributeList(ORGANELLE)
                         .map(values -> values.stream().noneMatch(MITOCHONDRION::equalsIgnoreCase))
@@ -20,7 +20,6 @@ import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Attributes;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
-import uk.ac.ebi.embl.gff3tools.utils.OntologyTerm;
 import uk.ac.ebi.embl.gff3tools.utils.ValidationUtils;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
 import uk.ac.ebi.embl.gff3tools.validation.meta.Gff3Validation;
@@ -52,9 +51,7 @@ public class CdsTranslationPresenceValidation {
         TranslationState state = context.get(TranslationState.class);
 
         List<String> missing = new ArrayList<>();
-        for (List<GFF3Feature> segments : ValidationUtils.groupFeaturesById(
-                        annotation, f -> OntologyTerm.CDS.name().equals(f.getName()))
-                .values()) {
+        for (List<GFF3Feature> segments : ValidationUtils.cdsGroups(context, annotation).values()) {
             if (isExempt(segments)) {
                 continue;
             }
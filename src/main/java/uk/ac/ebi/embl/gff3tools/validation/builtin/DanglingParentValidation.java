@@ -10,8 +10,6 @@
  */
 package uk.ac.ebi.embl.gff3tools.validation.builtin;
 
-import java.util.HashSet;
-import java.util.Set;
 import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
@@ -47,17 +45,11 @@ public class DanglingParentValidation implements Validation {
 
     @ValidationMethod(rule = VALIDATION_RULE, type = ValidationType.ANNOTATION, severity = RuleSeverity.ERROR)
     public void validateAnnotation(GFF3Annotation annotation, int line) throws ValidationException {
-        // Build set of all IDs in this annotation block
-        Set<String> availableIds = new HashSet<>();
-        for (GFF3Feature feature : annotation.getFeatures()) {
-            feature.getId().ifPresent(availableIds::add);
-        }
-
-        // Check each feature's Parent reference
-        for (GFF3Feature feature : annotation.getFeatures()) {
+        // Check each feature's Parent reference against the IDs in this annotation block
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
             if (feature.getParentId().isPresent()) {
                 String parentId = feature.getParentId().get();
-                if (!availableIds.contains(parentId)) {
+                if (annotation.getFeaturesById(parentId).isEmpty()) {
                     String featureId = feature.getId().orElse("<no ID>");
                     throw new ValidationException(VALIDATION_RULE, buildErrorMessage(feature, featureId, parentId));
                 }
@@ -33,7 +33,7 @@ public class DuplicateFeatureValidation implements Validation {
 
         Map<String, String> proteinToAttribute = new HashMap<>();
 
-        for (GFF3Feature feature : annotation.getFeatures()) {
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
 
             String proteinId = feature.getAttribute(GFF3Attributes.PROTEIN_ID).orElse(null);
             String attributeId =
@@ -44,7 +44,7 @@ public class FeatureSpecificValidation implements Validation {
         }
 
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         boolean isOperon =
                 soIdOpt.isPresent() && (ontologyClient.isSelfOrDescendantOf(soIdOpt.get(), OntologyTerm.OPERON.ID));
         if (isOperon) {
@@ -60,8 +60,8 @@ public class FeatureSpecificValidation implements Validation {
         List<GFF3Feature> cdsFeatures = new ArrayList<>();
         List<GFF3Feature> peptideFeatures = new ArrayList<>();
 
-        for (GFF3Feature feature : annotation.getFeatures()) {
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
             if (soIdOpt.isEmpty()) {
                 continue;
             }
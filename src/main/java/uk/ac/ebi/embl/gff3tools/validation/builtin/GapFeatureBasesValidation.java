@@ -44,7 +44,7 @@ public class GapFeatureBasesValidation implements Validation {
             type = ValidationType.FEATURE)
     public void validateGapBases(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty() || !OntologyTerm.GAP.ID.equals(soIdOpt.get())) {
             return;
         }
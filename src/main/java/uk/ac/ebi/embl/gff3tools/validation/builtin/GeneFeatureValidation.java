@@ -53,13 +53,13 @@ public class GeneFeatureValidation implements Validation {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         Map<String, String> geneToLocusTag = new HashMap<>();
         Map<String, String> geneToPseudoGene = new HashMap<>();
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
             if (feature == null || !feature.hasAttribute(GFF3Attributes.GENE)) return;
 
             String geneName = feature.getAttribute(GFF3Attributes.GENE).orElse(null);
             String locusTag = feature.getAttribute(GFF3Attributes.LOCUS_TAG).orElse(null);
             String existingLocus = geneToLocusTag.get(geneName);
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
 
             if (soIdOpt.isEmpty()) continue;
 
@@ -95,8 +95,8 @@ public class GeneFeatureValidation implements Validation {
     public void validateGeneLocusTagAssociation(GFF3Annotation gff3Annotation, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         Map<String, GFF3Feature> locusTagToGeneFeature = new HashMap<>();
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
 
             if (soIdOpt.isEmpty()) continue;
 
@@ -130,7 +130,7 @@ public class GeneFeatureValidation implements Validation {
     public void validateLocusTagAssociation(GFF3Annotation gff3Annotation, int line) throws ValidationException {
         Map<String, String> locusTagToGene = new HashMap<>();
         Map<String, List<String>> locusTagToSynonyms = new HashMap<>();
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
             if (feature == null || !feature.hasAttribute(GFF3Attributes.LOCUS_TAG)) {
                 return;
             }
@@ -205,8 +205,7 @@ public class GeneFeatureValidation implements Validation {
 
     private boolean isGeneOrCds(GFF3Feature feature) {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        String featureName = feature.getName();
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(featureName);
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty()) {
             return false;
         }
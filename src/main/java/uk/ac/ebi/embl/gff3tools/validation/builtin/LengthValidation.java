@@ -69,7 +69,7 @@ public class LengthValidation implements Validation {
     public void validateIntronLength(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         long length = feature.getLength();
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty()) return;
 
         if (ontologyClient.isSelfOrDescendantOf(soIdOpt.get(), OntologyTerm.INTRON.ID)
@@ -83,11 +83,11 @@ public class LengthValidation implements Validation {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         Map<String, List<GFF3Feature>> cdsListById = new HashMap<>();
 
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
 
             if (feature == null) continue;
 
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
             if (soIdOpt.isEmpty()) continue;
 
             boolean isCds = OntologyTerm.CDS.ID.equals(soIdOpt.get())
@@ -149,7 +149,7 @@ public class LengthValidation implements Validation {
             type = ValidationType.ANNOTATION,
             priority = ValidationPriority.LOW)
     public void validateCdsLength(GFF3Annotation gff3Annotation, int line) throws ValidationException {
-        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.groupFeaturesById(gff3Annotation, this::isCds);
+        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.cdsGroups(context, gff3Annotation);
 
         for (List<GFF3Feature> segments : cdsGroups.values()) {
             validateCdsLength(segments, line);
@@ -174,7 +174,7 @@ public class LengthValidation implements Validation {
     public void validateExonLength(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         long length = feature.getLength();
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty()) return;
 
         if (ontologyClient.isSelfOrDescendantOf(soIdOpt.get(), OntologyTerm.EXON.ID)
@@ -186,7 +186,7 @@ public class LengthValidation implements Validation {
     @ValidationMethod(rule = "PROPEPTIDE_LENGTH", type = ValidationType.FEATURE)
     public void validatePropeptideLength(GFF3Feature feature, int line) throws ValidationException {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty()) return;
 
         if (!OntologyTerm.PROPEPTIDE.ID.equals(soIdOpt.get())) {
@@ -202,7 +202,7 @@ public class LengthValidation implements Validation {
 
     public boolean isPseudo(GFF3Feature feature) {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        Optional<String> soIdOpt = feature.getSoId(ontologyClient);
         if (soIdOpt.isEmpty()) return false;
 
         if (ontologyClient.isSelfOrDescendantOf(soIdOpt.get(), OntologyTerm.PSEUDOGENIC_REGION.ID)) {
@@ -211,17 +211,12 @@ public class LengthValidation implements Validation {
         return feature.hasAttribute(GFF3Attributes.PSEUDO) || feature.hasAttribute(GFF3Attributes.PSEUDOGENE);
     }
 
-    private boolean isCds(GFF3Feature feature) {
-        return feature != null && OntologyTerm.CDS.name().equals(feature.getName());
-    }
-
     private boolean isTrna(GFF3Feature feature) {
         if (feature == null) {
             return false;
         }
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        return ontologyClient
-                .findTermByNameOrSynonym(feature.getName())
+        return feature.getSoId(ontologyClient)
                 .map(soId -> ontologyClient.isSelfOrDescendantOf(soId, OntologyTerm.TRNA.ID))
                 .orElse(false);
     }
@@ -58,9 +58,8 @@ public class LocationValidation implements Validation {
         List<GFF3Feature> cdsFeatures = new ArrayList<>();
         List<GFF3Feature> peptideFeatures = new ArrayList<>();
 
-        for (GFF3Feature feature : annotation.getFeatures()) {
-            String featureName = feature.getName();
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(featureName);
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
             if (soIdOpt.isEmpty()) {
                 continue;
             }
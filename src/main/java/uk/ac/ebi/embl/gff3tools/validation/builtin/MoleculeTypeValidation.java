@@ -68,7 +68,7 @@ public class MoleculeTypeValidation implements Validation {
         }
 
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        for (final GFF3Feature feature : annotation.getFeatures()) {
+        for (final GFF3Feature feature : annotation.getFeaturesView()) {
             Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
             if (soIdOpt.isEmpty()) continue;
             String soId = soIdOpt.get();
@@ -101,7 +101,7 @@ public class MoleculeTypeValidation implements Validation {
         }
 
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        for (final GFF3Feature feature : annotation.getFeatures()) {
+        for (final GFF3Feature feature : annotation.getFeaturesView()) {
             Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
             if (soIdOpt.isEmpty()) continue;
             String soId = soIdOpt.get();
@@ -127,7 +127,7 @@ public class MoleculeTypeValidation implements Validation {
             return;
         }
 
-        for (final GFF3Feature feature : annotation.getFeatures()) {
+        for (final GFF3Feature feature : annotation.getFeaturesView()) {
             if (isCds(feature) && feature.isComplement()) {
                 throw new ValidationException(
                         MRNA_CDS_COMPLEMENT_RULE,
@@ -144,8 +144,8 @@ public class SequenceLengthValidation implements Validation {
 
     private Optional<GFF3Feature> findLncRnaFeature(GFF3Annotation annotation) {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        for (GFF3Feature feature : annotation.getFeatures()) {
-            Optional<String> soId = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
+            Optional<String> soId = feature.getSoId(ontologyClient);
             if (soId.isPresent() && ontologyClient.isSelfOrDescendantOf(soId.get(), OntologyTerm.LNCRNA.ID)) {
                 return Optional.of(feature);
             }
@@ -161,8 +161,8 @@ public class SequenceLengthValidation implements Validation {
 
     private boolean hasMinimumLengthException(GFF3Annotation annotation) {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
-        for (GFF3Feature feature : annotation.getFeatures()) {
-            Optional<String> soId = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
+            Optional<String> soId = feature.getSoId(ontologyClient);
             if (soId.isPresent()
                     && (ontologyClient.isSelfOrDescendantOf(soId.get(), OntologyTerm.NCRNA_GENE.ID)
                             || ontologyClient.isSelfOrDescendantOf(soId.get(), OntologyTerm.NCRNA.ID)
@@ -20,7 +20,6 @@ import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
-import uk.ac.ebi.embl.gff3tools.utils.OntologyTerm;
 import uk.ac.ebi.embl.gff3tools.utils.ValidationUtils;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
 import uk.ac.ebi.embl.gff3tools.validation.meta.Gff3Validation;
@@ -62,8 +61,7 @@ public class TranslationComparisonValidation {
         // Group CDS features by ID, using the same fallback key as TranslationFix so that
         // groups match 1:1. This relies on no fix modifying feature coordinates before these
         // LOW-priority rules execute.
-        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.groupFeaturesById(
-                annotation, f -> OntologyTerm.CDS.name().equals(f.getName()));
+        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.cdsGroups(context, annotation);
 
         List<String> mismatches = new ArrayList<>();
 
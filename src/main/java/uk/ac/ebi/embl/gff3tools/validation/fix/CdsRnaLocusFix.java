@@ -44,9 +44,9 @@ public class CdsRnaLocusFix implements Fix {
         OntologyClient ontologyClient = context.get(OntologyClient.class);
         List<GFF3Feature> geneFeatures = new ArrayList<>();
         List<GFF3Feature> nonLocusFeatures = new ArrayList<>();
-        for (GFF3Feature feature : annotation.getFeatures()) {
+        for (GFF3Feature feature : annotation.getFeaturesView()) {
 
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
             if (soIdOpt.isEmpty()) continue;
 
             String soId = soIdOpt.get();
@@ -42,8 +42,8 @@ public class GeneAssociatedFeatureRemoval implements Fix {
         List<GFF3Feature> geneAssociatedFeatures = new ArrayList<>();
         Map<String, GFF3Feature> geneFeatureMap = new HashMap<>();
 
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
-            Optional<String> soIdOpt = ontologyClient.findTermByNameOrSynonym(feature.getName());
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
+            Optional<String> soIdOpt = feature.getSoId(ontologyClient);
             if (soIdOpt.isEmpty()) continue;
 
             String soId = soIdOpt.get();
@@ -79,12 +79,10 @@ public class GeneAssociatedFeatureRemoval implements Fix {
 
         // Clear Parent reference on any feature whose parent was just removed,
         // preventing DANGLING_PARENT errors from the validator.
-        if (!removedGeneIds.isEmpty()) {
-            for (GFF3Feature feature : gff3Annotation.getFeatures()) {
-                feature.getParentId().filter(removedGeneIds::contains).ifPresent(ignored -> {
-                    feature.setParentId(Optional.empty());
-                    feature.removeAttributeList("Parent");
-                });
+        for (String removedGeneId : removedGeneIds) {
+            for (GFF3Feature feature : gff3Annotation.getFeaturesByParentId(removedGeneId)) {
+                feature.setParentId(Optional.empty());
+                feature.removeAttributeList("Parent");
             }
         }
     }
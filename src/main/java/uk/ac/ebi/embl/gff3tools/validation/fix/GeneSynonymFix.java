@@ -55,7 +55,7 @@ public class GeneSynonymFix implements Fix {
             enabled = true)
     public void fix(GFF3Annotation annotation, int line) {
 
-        List<GFF3Feature> features = annotation.getFeatures();
+        List<GFF3Feature> features = annotation.getFeaturesView();
 
         Map<String, GFF3Feature> featuresById = new LinkedHashMap<>();
         for (GFF3Feature f : features) {
@@ -34,7 +34,7 @@ public class LocusTagAssociationFix implements Fix {
                     "Adds locus tag attribute to the features with the gene attribute, considering first-seen pair as the correct one")
     public void fix(GFF3Annotation gff3Annotation, int line) {
         Map<String, String> geneToLocusTag = new HashMap<>();
-        for (GFF3Feature feature : gff3Annotation.getFeatures()) {
+        for (GFF3Feature feature : gff3Annotation.getFeaturesView()) {
             if (feature == null) return;
 
             String gene = feature.getAttribute(GENE).orElse(null);
@@ -20,9 +20,9 @@ import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Attributes;
 import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
 import uk.ac.ebi.embl.gff3tools.sequence.SequenceLookup;
+import uk.ac.ebi.embl.gff3tools.translation.TranslationCache;
 import uk.ac.ebi.embl.gff3tools.translation.TranslationResult;
 import uk.ac.ebi.embl.gff3tools.translation.Translator;
-import uk.ac.ebi.embl.gff3tools.utils.OntologyTerm;
 import uk.ac.ebi.embl.gff3tools.utils.ValidationUtils;
 import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
 import uk.ac.ebi.embl.gff3tools.validation.meta.FixMethod;
@@ -39,6 +39,9 @@ import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
  *
  * <p>Operates at the ANNOTATION level so that multi-segment CDS features (joins)
  * are translated as a single concatenated sequence rather than individually.
+ *
+ * <p>When a {@link TranslationCache} is registered on the context, identical CDS sequences
+ * translated with identical settings are translated once and reused.
  */
 @Slf4j
 @Gff3Fix(name = "TRANSLATION", description = "Generate protein translations from CDS features")
@@ -87,8 +90,7 @@ public class TranslationFix {
         }
 
         // Group CDS features by ID (features with the same ID form a join)
-        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.groupFeaturesById(
-                annotation, f -> OntologyTerm.CDS.name().equals(f.getName()));
+        Map<String, List<GFF3Feature>> cdsGroups = ValidationUtils.cdsGroups(context, annotation);
 
         for (List<GFF3Feature> segments : cdsGroups.values()) {
             translateCdsGroup(segments, sequenceLookup, line);
@@ -149,8 +151,10 @@ public class TranslationFix {
                 translator.setIsComplement(false);
             }
             translator.enableAllFixes();
+            TranslationCache cache =
+                    context.contains(TranslationCache.class) ? context.get(TranslationCache.class) : null;
             TranslationResult result =
-                    translator.translate(concatenated.toString().getBytes());
+                    translator.translate(concatenated.toString().getBytes(), cache);
 
             if (!result.isValid()) {
                 throw new ValidationException(
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
+import uk.ac.ebi.embl.gff3tools.utils.ValidationUtils;
+import uk.ac.ebi.embl.gff3tools.validation.ContextProvider;
+import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
+
+/**
+ * Groupings of an annotation's features that several fixes and validations need, worked out once
+ * per annotation rather than by every rule that needs them.
+ *
+ * <p>The groupings are kept for the annotation last asked about, and worked out again once it
+ * changes: when it is a different annotation, or when features have been added to or removed from
+ * it or its mutable features list has been handed out (see
+ * {@link GFF3Annotation#getModificationCount()}). A feature's name, ID and coordinates never
+ * change, so fixes that only edit attributes or parents leave the groupings valid.
+ *
+ * <p>Like the validation engine, not safe for use by more than one thread.
+ */
+public class AnnotationFeatureIndex implements ContextProvider<AnnotationFeatureIndex> {
+
+    private GFF3Annotation annotation;
+    private long modificationCount;
+    private Map<String, List<GFF3Feature>> cdsGroups;
+
+    /**
+     * Returns the CDS features of the annotation grouped by {@link ValidationUtils#featureGroupKey},
+     * in the order the features were encountered; see {@link ValidationUtils#groupFeaturesById}.
+     * The map and its groups are read-only.
+     */
+    public Map<String, List<GFF3Feature>> cdsGroups(GFF3Annotation annotation) {
+        if (cdsGroups == null
+                || annotation != this.annotation
+                || annotation.getModificationCount() != modificationCount) {
+            Map<String, List<GFF3Feature>> groups = new LinkedHashMap<>();
+            ValidationUtils.groupFeaturesById(annotation, ValidationUtils::isCds)
+                    .forEach((key, segments) -> groups.put(key, List.copyOf(segments)));
+            cdsGroups = Collections.unmodifiableMap(groups);
+            this.annotation = annotation;
+            this.modificationCount = annotation.getModificationCount();
+        }
+        return cdsGroups;
+    }
+
+    @Override
+    public AnnotationFeatureIndex get(ValidationContext context) {
+        return this;
+    }
+
+    @Override
+    public Class<AnnotationFeatureIndex> type() {
+        return AnnotationFeatureIndex.class;
+    }
+}
@@ -11,13 +11,19 @@
 package uk.ac.ebi.embl.gff3tools.validation.provider;
 
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import uk.ac.ebi.embl.fastareader.SequenceFileFormat;
@@ -31,7 +37,6 @@ import uk.ac.ebi.embl.gff3tools.exception.NonExistingFile;
 import uk.ac.ebi.embl.gff3tools.exception.ReadException;
 import uk.ac.ebi.embl.gff3tools.sequence.fasta.header.utils.FastaHeader;
 import uk.ac.ebi.embl.gff3tools.sequence.fasta.header.utils.JsonHeaderParser;
-import uk.ac.ebi.embl.gff3tools.sequence.fasta.header.utils.ParsedHeader;
 import uk.ac.ebi.embl.gff3tools.utils.GzipUtils;
 
 /**
@@ -39,6 +44,15 @@ import uk.ac.ebi.embl.gff3tools.utils.GzipUtils;
  *
  * <p>The reader is opened lazily on first access and closed when {@link #close()} is called.
  *
+ * <p>The source is safe for concurrent use, but only memory-mapped lookups run in parallel.
+ * Initialisation builds an immutable index that is published once through a volatile field, so
+ * resolving a seqId after that takes no lock. The fastareader reader is not safe for concurrent
+ * requests, and opening another one would index the whole file again, so every request that goes
+ * through it holds one lock for the source. Whole-sequence slices, slice readers, lengths and gap
+ * scans of uniformly wrapped records in a memory-mapped source use positional reads and take no
+ * lock. A slice reader for any other request is read into memory under the lock before it is
+ * returned.
+ *
  * <p>For plain sequences:
  * <ul>
  *   <li>If a {@code sequenceKey} is set, {@link #hasSequence} matches only that key.</li>
@@ -46,8 +60,15 @@ import uk.ac.ebi.embl.gff3tools.utils.GzipUtils;
  *       (single sequence serves all GFF3 seqIds).</li>
  * </ul>
  *
- * <p>For FASTA, it parses headers to extract submission IDs and maps them
- * to the library's ordinal IDs for sequence retrieval.
+ * <p>For FASTA, it extracts the submission ID from every header and maps it to the library's
+ * ordinal ID for sequence retrieval. Only the ID token is read up front; the JSON part of a header
+ * is parsed on first access through {@link #getSeqIdToHeader()} and cached afterwards.
+ *
+ * <p>When created with {@code memoryMapped = true}, a FASTA file (or its decompressed copy) is also
+ * indexed by a {@link MappedFastaIndex}, and whole-sequence slices of uniformly wrapped records are
+ * served straight from the mapping, as are their {@link #scanGaps gap scans}. Statistics, ranged gap
+ * regions, edge-N trimmed slices and irregularly wrapped records still go through the fastareader
+ * {@link SequenceFormatReader}.
  */
 @Slf4j
 public class FileSequenceSource implements SequenceSource {
@@ -62,18 +83,21 @@ public class FileSequenceSource implements SequenceSource {
     private final String sequenceKey;
 
     @Getter
-    private SequenceFormatReader formatReader;
+    private final boolean memoryMapped;
 
+    /** The reader opened during initialisation, or supplied up front. */
     @Getter
-    private final Map<String, Long> seqIdToOrdinal = new HashMap<>();
+    private volatile SequenceFormatReader formatReader;
 
-    private final Map<String, FastaHeader> seqIdToHeader = new HashMap<>();
+    /** Immutable index published by {@link #ensureInitialized()}; {@code null} until then. */
+    private volatile IndexState state;
+
+    /** Held for every request to {@link #formatReader} once the source is initialised. */
+    private final Object readerLock = new Object();
 
     @Getter
     private volatile Path decompressedPath;
 
-    private boolean initialized;
-
     /**
      * Creates a provider that will lazily open the sequence file on first access.
      *
@@ -82,9 +106,22 @@ public class FileSequenceSource implements SequenceSource {
      * @param sequenceKey optional key for plain sequences (GFF3 seqId); null to match any ID
      */
     public FileSequenceSource(Path path, SequenceFormat format, String sequenceKey) {
+        this(path, format, sequenceKey, false);
+    }
+
+    /**
+     * Creates a provider that will lazily open the sequence file on first access.
+     *
+     * @param path path to the sequence file
+     * @param format the sequence format (fasta or plain)
+     * @param sequenceKey optional key for plain sequences (GFF3 seqId); null to match any ID
+     * @param memoryMapped serve FASTA sequence slices from a memory-mapped index
+     */
+    public FileSequenceSource(Path path, SequenceFormat format, String sequenceKey, boolean memoryMapped) {
         this.path = path;
         this.format = format;
         this.sequenceKey = sequenceKey;
+        this.memoryMapped = memoryMapped;
     }
 
     /** Convenience constructor for tests that supply a pre-opened reader. */
@@ -92,34 +129,43 @@ public class FileSequenceSource implements SequenceSource {
         this.path = null;
         this.format = format;
         this.sequenceKey = sequenceKey;
+        this.memoryMapped = false;
         this.formatReader = formatReader;
     }
 
     @Override
     public boolean hasSequence(String seqId) {
-        ensureInitialized();
+        IndexState s = ensureInitialized();
         if (formatReader == null) {
             return false;
         }
-        if (formatReader.getSequenceFileFormat() == SequenceFileFormat.PLAIN_SEQUENCE) {
+        if (s.plain()) {
             return sequenceKey == null || sequenceKey.equals(seqId);
         }
-        return seqIdToOrdinal.containsKey(seqId);
+        return s.seqIdIndex().contains(seqId);
     }
 
     @Override
     public String getSequenceSlice(String seqId, long fromBase, long toBase, SequenceRangeOption option)
             throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        return formatReader.getSequenceSlice(ordinal, fromBase, toBase, option);
+        IndexState s = ensureInitialized();
+        int mappedRecord = resolveMappedRecord(s, seqId, option);
+        if (mappedRecord != SeqIdOrdinalIndex.NOT_FOUND) {
+            return s.mappedIndex().getSlice(mappedRecord, fromBase, toBase);
+        }
+        long ordinal = resolveOrdinal(s, seqId);
+        return read(reader -> reader.getSequenceSlice(ordinal, fromBase, toBase, option));
     }
 
     @Override
     public long getSequenceLength(String seqId, SequenceRangeOption option) throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        SequenceStats fr = formatReader.getStats(ordinal);
+        IndexState s = ensureInitialized();
+        int mappedRecord = resolveMappedRecord(s, seqId, option);
+        if (mappedRecord != SeqIdOrdinalIndex.NOT_FOUND) {
+            return s.mappedIndex().length(mappedRecord);
+        }
+        long ordinal = resolveOrdinal(s, seqId);
+        SequenceStats fr = read(reader -> reader.getStats(ordinal));
         return switch (option) {
             case WHOLE_SEQUENCE -> fr.totalBases();
             case WITHOUT_EDGE_N_BASES -> fr.totalBasesWithoutNBases();
@@ -128,52 +174,84 @@ public class FileSequenceSource implements SequenceSource {
 
     @Override
     public SequenceStats getSequenceStats(String seqId) throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        return formatReader.getStats(ordinal);
+        IndexState s = ensureInitialized();
+        long ordinal = resolveOrdinal(s, seqId);
+        return read(reader -> reader.getStats(ordinal));
     }
 
     @Override
     public List<GapRegion> getGapRegions(String seqId, SequenceRangeOption option) throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        return formatReader.getGapRegions(ordinal, option);
+        IndexState s = ensureInitialized();
+        long ordinal = resolveOrdinal(s, seqId);
+        return read(reader -> reader.getGapRegions(ordinal, option));
     }
 
     @Override
     public List<GapRegion> getGapRegions(String seqId, long fromBase, long toBase, SequenceRangeOption option)
             throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        return formatReader.getGapRegions(ordinal, fromBase, toBase, option);
+        IndexState s = ensureInitialized();
+        long ordinal = resolveOrdinal(s, seqId);
+        return read(reader -> reader.getGapRegions(ordinal, fromBase, toBase, option));
+    }
+
+    /**
+     * Scans the whole sequence {@code seqId} for runs of {@code N}/{@code n}. A uniformly wrapped
+     * record of a memory-mapped source is scanned straight from the mapping; anything else goes
+     * through the shared reader under its lock, as its length statistics and
+     * {@code getGapRegions(ordinal)}.
+     */
+    public GapScan scanGaps(String seqId) throws Exception {
+        IndexState s = ensureInitialized();
+        int mappedRecord = resolveMappedRecord(s, seqId, SequenceRangeOption.WHOLE_SEQUENCE);
+        if (mappedRecord != SeqIdOrdinalIndex.NOT_FOUND) {
+            MappedFastaIndex mapped = s.mappedIndex();
+            return new GapScan(mapped.length(mappedRecord), mapped.getGapRegions(mappedRecord));
+        }
+        long ordinal = resolveOrdinal(s, seqId);
+        return read(reader -> new GapScan(reader.getStats(ordinal).totalBases(), reader.getGapRegions(ordinal)));
+    }
+
+    /**
+     * Whether {@link #scanGaps} can run on several threads at once without waiting for each other,
+     * i.e. whether the sequences are served from a memory mapping.
+     */
+    public boolean supportsConcurrentScans() {
+        return ensureInitialized().mappedIndex() != null;
     }
 
     @Override
     public Set<String> knownSeqIds() {
-        ensureInitialized();
-        if (formatReader.getSequenceFileFormat() == SequenceFileFormat.PLAIN_SEQUENCE) {
+        IndexState s = ensureInitialized();
+        if (s.plain()) {
             return sequenceKey != null ? Set.of(sequenceKey) : Set.of();
         }
-        return Collections.unmodifiableSet(seqIdToOrdinal.keySet());
+        return Collections.unmodifiableSet(s.seqIdIndex().asMap().keySet());
     }
 
     @Override
     public Reader getSequenceSliceReader(String seqId, long fromBase, long toBase, SequenceRangeOption option)
             throws Exception {
-        ensureInitialized();
-        long ordinal = resolveOrdinal(seqId);
-        return formatReader.getSequenceSliceReader(ordinal, fromBase, toBase, option);
+        IndexState s = ensureInitialized();
+        int mappedRecord = resolveMappedRecord(s, seqId, option);
+        if (mappedRecord != SeqIdOrdinalIndex.NOT_FOUND) {
+            return s.mappedIndex().getSliceReader(mappedRecord, fromBase, toBase);
+        }
+        long ordinal = resolveOrdinal(s, seqId);
+        // The fastareader slice reader reads from the shared reader as it is consumed, so drain it
+        // before the lock is released.
+        return read(reader -> {
+            try (Reader slice = reader.getSequenceSliceReader(ordinal, fromBase, toBase, option)) {
+                StringWriter bases = new StringWriter();
+                slice.transferTo(bases);
+                return new StringReader(bases.toString());
+            }
+        });
     }
 
     @Override
     public void close() {
-        if (formatReader != null) {
-            try {
-                formatReader.close();
-            } catch (Exception e) {
-                log.warn("Failed to close sequence reader: {}", e.getMessage());
-            }
-        }
+        // A memory mapping is released when its buffers are garbage collected, not here.
+        closeReader(formatReader);
         if (decompressedPath != null) {
             try {
                 Files.deleteIfExists(decompressedPath);
@@ -183,29 +261,69 @@ public class FileSequenceSource implements SequenceSource {
         }
     }
 
+    /**
+     * Returns an unmodifiable view of the submission ID to reader ordinal mapping.
+     * Only populated for FASTA-format sources after initialization.
+     */
+    public Map<String, Long> getSeqIdToOrdinal() {
+        return ensureInitialized().seqIdIndex().asMap();
+    }
+
     /**
      * Returns an unmodifiable view of the parsed FASTA headers keyed by submission ID.
      * Only populated for FASTA-format sources after initialization.
+     *
+     * <p>Headers are parsed lazily: the JSON part of a header is only parsed when its entry is first
+     * read from the returned map. A malformed header therefore fails on that first read.
      */
     public Map<String, FastaHeader> getSeqIdToHeader() {
-        ensureInitialized();
-        return Collections.unmodifiableMap(seqIdToHeader);
+        return new LazyHeaderMap(ensureInitialized());
     }
 
-    private synchronized void ensureInitialized() {
-        if (initialized) {
-            return;
+    /** Returns the published index, building it on first call. Only the first call takes a lock. */
+    private IndexState ensureInitialized() {
+        IndexState s = state;
+        return s != null ? s : initialize();
+    }
+
+    private synchronized IndexState initialize() {
+        if (state != null) {
+            return state;
         }
-        initialized = true;
         if (formatReader == null && path != null) {
             try {
                 formatReader = openReader();
             } catch (Exception e) {
+                // Publish an empty index so the failure is reported once and the source then has no sequences.
+                state = IndexState.EMPTY;
                 throw new RuntimeException("Failed to open sequence file '%s': %s".formatted(path, e.getMessage()), e);
             }
         }
-        if (formatReader != null) {
-            buildIdMapping();
+        IndexState s = formatReader != null ? buildIndexState(formatReader) : IndexState.EMPTY;
+        state = s;
+        return s;
+    }
+
+    /** Runs {@code request} against the reader, one thread at a time. */
+    private <T> T read(ReaderRequest<T> request) throws Exception {
+        synchronized (readerLock) {
+            return request.apply(formatReader);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderRequest<T> {
+        T apply(SequenceFormatReader reader) throws Exception;
+    }
+
+    private static void closeReader(SequenceFormatReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (Exception e) {
+            log.warn("Failed to close sequence reader: {}", e.getMessage());
         }
     }
 
@@ -242,41 +360,212 @@ public class FileSequenceSource implements SequenceSource {
         };
     }
 
-    private void buildIdMapping() {
-        if (formatReader.getSequenceFileFormat() == SequenceFileFormat.FASTA) {
-            JsonHeaderParser headerParser = new JsonHeaderParser();
-            for (long ordinal : formatReader.getOrderedIds()) {
-                String headerLine = formatReader
-                        .getHeaderline(ordinal)
-                        .orElseThrow(() -> new RuntimeException("No header found for ordinal " + ordinal));
-                try {
-                    ParsedHeader parsed = headerParser.parse(headerLine);
-                    String submissionId = parsed.getId();
-                    if (seqIdToOrdinal.containsKey(submissionId)) {
-                        throw new RuntimeException("Duplicate submission ID in FASTA: " + submissionId);
-                    }
-                    seqIdToOrdinal.put(submissionId, ordinal);
-                    seqIdToHeader.put(submissionId, parsed.getHeader());
-                } catch (Exception e) {
-                    throw new RuntimeException(
-                            ("Failed to parse FASTA header at ordinal %d: %s. "
-                                            + "Expected format: >ID | {\"key\":\"value\",...}")
-                                    .formatted(ordinal, e.getMessage()),
-                            e);
+    private IndexState buildIndexState(SequenceFormatReader reader) {
+        List<Long> orderedIds = reader.getOrderedIds();
+        if (reader.getSequenceFileFormat() != SequenceFileFormat.FASTA) {
+            // For plain sequences, no ID mapping needed — resolveOrdinal uses the single ordinal directly
+            long ordinal = orderedIds.isEmpty() ? SeqIdOrdinalIndex.NOT_FOUND : orderedIds.get(0);
+            return new IndexState(true, ordinal, new SeqIdOrdinalIndex(), new AtomicReferenceArray<>(0), null);
+        }
+        JsonHeaderParser headerParser = new JsonHeaderParser();
+        SeqIdOrdinalIndex index = new SeqIdOrdinalIndex(orderedIds.size());
+        for (long ordinal : orderedIds) {
+            String headerLine = readHeaderLine(reader, ordinal);
+            String submissionId;
+            try {
+                submissionId = headerParser.parseId(headerLine);
+            } catch (Exception e) {
+                throw headerParseFailure(ordinal, e);
+            }
+            if (!index.add(submissionId, ordinal)) {
+                throw new RuntimeException("Duplicate submission ID in FASTA: " + submissionId);
+            }
+        }
+        MappedFastaIndex mappedIndex = memoryMapped ? openMappedIndex(reader, index) : null;
+        return new IndexState(
+                false,
+                SeqIdOrdinalIndex.NOT_FOUND,
+                index,
+                new AtomicReferenceArray<>(index.size()),
+                mappedIndex);
+    }
+
+    /**
+     * Maps the FASTA file and checks that its records line up one-to-one with the reader's ordinals.
+     * Returns {@code null} (falling back to stream reads) if the file cannot be mapped or the layouts
+     * disagree.
+     */
+    private MappedFastaIndex openMappedIndex(SequenceFormatReader reader, SeqIdOrdinalIndex seqIdIndex) {
+        try {
+            MappedFastaIndex index = MappedFastaIndex.open(resolvePath());
+            if (index.size() != seqIdIndex.size()) {
+                log.warn(
+                        "Memory-mapped index of '{}' found {} records but the FASTA reader found {}; using stream reads",
+                        path,
+                        index.size(),
+                        seqIdIndex.size());
+                return null;
+            }
+            for (int i = 0; i < index.size(); i++) {
+                if (!index.headerEquals(i, readHeaderLine(reader, seqIdIndex.ordinalAt(i)))) {
+                    log.warn("Memory-mapped index of '{}' disagrees at record {}; using stream reads", path, i);
+                    return null;
                 }
             }
+            return index;
+        } catch (Exception e) {
+            log.warn("Failed to memory-map sequence file '{}', using stream reads: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Parses the full header of the entry at {@code index} on first access. */
+    private FastaHeader headerAt(IndexState s, int index) {
+        FastaHeader header = s.parsedHeaders().get(index);
+        if (header == null) {
+            long ordinal = s.seqIdIndex().ordinalAt(index);
+            try {
+                String headerLine;
+                synchronized (readerLock) {
+                    headerLine = readHeaderLine(formatReader, ordinal);
+                }
+                header = new JsonHeaderParser().parse(headerLine).getHeader();
+            } catch (Exception e) {
+                throw headerParseFailure(ordinal, e);
+            }
+            // Concurrent first reads may both parse; keep whichever header was published first.
+            if (!s.parsedHeaders().compareAndSet(index, null, header)) {
+                header = s.parsedHeaders().get(index);
+            }
         }
-        // For plain sequences, no ID mapping needed — resolveOrdinal uses the single ordinal directly
+        return header;
+    }
+
+    private static String readHeaderLine(SequenceFormatReader reader, long ordinal) {
+        return reader.getHeaderline(ordinal)
+                .orElseThrow(() -> new RuntimeException("No header found for ordinal " + ordinal));
     }
 
-    private long resolveOrdinal(String seqId) {
-        if (formatReader.getSequenceFileFormat() == SequenceFileFormat.PLAIN_SEQUENCE) {
-            return formatReader.getOrderedIds().get(0);
+    private static RuntimeException headerParseFailure(long ordinal, Exception e) {
+        return new RuntimeException(
+                ("Failed to parse FASTA header at ordinal %d: %s. "
+                                + "Expected format: >ID | {\"key\":\"value\",...}")
+                        .formatted(ordinal, e.getMessage()),
+                e);
+    }
+
+    /**
+     * Returns the mapped record serving {@code seqId}, or {@link SeqIdOrdinalIndex#NOT_FOUND} if the
+     * slice must be read through the fastareader reader instead.
+     */
+    private static int resolveMappedRecord(IndexState s, String seqId, SequenceRangeOption option) {
+        if (s.mappedIndex() == null || option != SequenceRangeOption.WHOLE_SEQUENCE) {
+            return SeqIdOrdinalIndex.NOT_FOUND;
         }
-        Long ordinal = seqIdToOrdinal.get(seqId);
-        if (ordinal == null) {
+        // Record positions in the mapped index match SeqIdOrdinalIndex positions (both in file order).
+        int index = s.seqIdIndex().indexOf(seqId);
+        return index != SeqIdOrdinalIndex.NOT_FOUND && s.mappedIndex().isRegular(index)
+                ? index
+                : SeqIdOrdinalIndex.NOT_FOUND;
+    }
+
+    private static long resolveOrdinal(IndexState s, String seqId) {
+        if (s.plain()) {
+            return s.plainOrdinal();
+        }
+        int index = s.seqIdIndex().indexOf(seqId);
+        if (index == SeqIdOrdinalIndex.NOT_FOUND) {
             throw new IllegalArgumentException("No sequence found for seqId: " + seqId);
         }
-        return ordinal;
+        return s.seqIdIndex().ordinalAt(index);
+    }
+
+    /**
+     * Everything lookups need after initialisation. Never mutated once published, apart from the
+     * lazily filled header slots, which are set atomically.
+     *
+     * @param plain whether the file is a plain (headerless) sequence
+     * @param plainOrdinal the single ordinal of a plain sequence
+     * @param seqIdIndex submission ID to ordinal mapping (FASTA only)
+     * @param parsedHeaders parsed headers by {@link SeqIdOrdinalIndex} position, filled on first access
+     * @param mappedIndex memory-mapped slice index, or {@code null} when not in use
+     */
+    private record IndexState(
+            boolean plain,
+            long plainOrdinal,
+            SeqIdOrdinalIndex seqIdIndex,
+            AtomicReferenceArray<FastaHeader> parsedHeaders,
+            MappedFastaIndex mappedIndex) {
+
+        static final IndexState EMPTY = new IndexState(
+                false, SeqIdOrdinalIndex.NOT_FOUND, new SeqIdOrdinalIndex(), new AtomicReferenceArray<>(0), null);
+    }
+
+    /**
+     * Result of {@link #scanGaps}.
+     *
+     * @param length number of bases in the sequence
+     * @param gaps runs of {@code N}/{@code n}, in sequence order
+     */
+    public record GapScan(long length, List<GapRegion> gaps) {}
+
+    /** Read-only header view over an {@link IndexState} that parses each header on first lookup. */
+    private final class LazyHeaderMap extends AbstractMap<String, FastaHeader> {
+
+        private final IndexState s;
+
+        private LazyHeaderMap(IndexState s) {
+            this.s = s;
+        }
+
+        @Override
+        public int size() {
+            return s.seqIdIndex().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String id && s.seqIdIndex().contains(id);
+        }
+
+        @Override
+        public FastaHeader get(Object key) {
+            if (!(key instanceof String id)) {
+                return null;
+            }
+            int index = s.seqIdIndex().indexOf(id);
+            return index == SeqIdOrdinalIndex.NOT_FOUND ? null : headerAt(s, index);
+        }
+
+        @Override
+        public Set<Entry<String, FastaHeader>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return s.seqIdIndex().size();
+                }
+
+                @Override
+                public Iterator<Entry<String, FastaHeader>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < s.seqIdIndex().size();
+                        }
+
+                        @Override
+                        public Entry<String, FastaHeader> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new SimpleImmutableEntry<>(s.seqIdIndex().seqIdAt(i), headerAt(s, i));
+                        }
+                    };
+                }
+            };
+        }
     }
 }
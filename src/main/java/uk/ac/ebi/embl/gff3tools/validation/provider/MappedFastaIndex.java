@@ -0,0 +1,344 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import uk.ac.ebi.embl.fastareader.sequenceutils.GapRegion;
+
+/**
+ * Memory-mapped, faidx-style index over an uncompressed FASTA file.
+ *
+ * <p>The file is mapped read-only and scanned once to record, per record, the byte offset of the
+ * first base, the number of bases, the bases per line and the line stride (bases plus line
+ * terminator). A slice {@code [fromBase, toBase]} is then located by offset arithmetic and copied
+ * straight out of the page cache, without going through a stream reader.
+ *
+ * <p>Records are numbered in file order, which is the order of the FASTA reader's ordinals. A
+ * record whose lines are not uniformly wrapped (a short line before the last line, blank lines, or
+ * embedded whitespace) is marked irregular and {@link #isRegular(int)} returns {@code false}; the
+ * caller falls back to the stream reader for it.
+ *
+ * <p>All reads use absolute {@link java.nio.ByteBuffer} accessors, so an index can serve
+ * concurrent slice requests once it is built.
+ */
+final class MappedFastaIndex {
+
+    /** Size of each mapped window; files larger than this are mapped as several segments. */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private static final int SEGMENT_SHIFT = 30;
+
+    private static final int IRREGULAR = -1;
+
+    /** Bases copied out of the mapping at a time when scanning a record for gaps. */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final MappedByteBuffer[] segments;
+
+    private int count;
+    private long[] headerOffsets = new long[16];
+    private int[] headerLengths = new int[16];
+    private long[] sequenceOffsets = new long[16];
+    private long[] lengths = new long[16];
+    private int[] lineBases = new int[16];
+    private int[] lineStrides = new int[16];
+
+    private MappedFastaIndex(MappedByteBuffer[] segments) {
+        this.segments = segments;
+    }
+
+    /** Maps {@code path} read-only and builds the record index in a single forward scan. */
+    static MappedFastaIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+            MappedFastaIndex index = new MappedFastaIndex(segments);
+            index.scan(size);
+            return index;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    /** Number of bases in the record. */
+    long length(int record) {
+        return lengths[record];
+    }
+
+    /** Whether the record is uniformly wrapped and can be served by offset arithmetic. */
+    boolean isRegular(int record) {
+        return lineBases[record] != IRREGULAR;
+    }
+
+    /** Returns {@code true} if the record's header line (including {@code '>'}) equals {@code headerLine}. */
+    boolean headerEquals(int record, String headerLine) {
+        int length = headerLengths[record];
+        if (headerLine == null || headerLine.length() != length) {
+            return false;
+        }
+        long offset = headerOffsets[record];
+        for (int i = 0; i < length; i++) {
+            if ((char) (byteAt(offset + i) & 0xFF) != headerLine.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns bases {@code fromBase..toBase} (1-based, inclusive) of a regular record.
+     *
+     * @throws IllegalArgumentException if the range lies outside the record
+     */
+    String getSlice(int record, long fromBase, long toBase) {
+        checkRange(record, fromBase, toBase);
+        long total = toBase - fromBase + 1;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sequence slice too large: " + total + " bases");
+        }
+        byte[] bases = new byte[(int) total];
+        copyBases(record, fromBase - 1, bases, 0, bases.length);
+        return new String(bases, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the runs of {@code N} or {@code n} in a regular record, as 1-based inclusive base
+     * ranges in sequence order.
+     */
+    List<GapRegion> getGapRegions(int record) {
+        if (!isRegular(record)) {
+            throw new IllegalStateException("FASTA record " + record + " is not uniformly line-wrapped");
+        }
+        List<GapRegion> gaps = new ArrayList<>();
+        long total = lengths[record];
+        byte[] buffer = new byte[(int) Math.min(total, SCAN_BUFFER_SIZE)];
+        // 0-based position of the first base of the current run of Ns, or -1 outside a run.
+        long gapStart = -1;
+        for (long base = 0; base < total; ) {
+            int chunk = (int) Math.min(buffer.length, total - base);
+            copyBases(record, base, buffer, 0, chunk);
+            for (int i = 0; i < chunk; i++) {
+                byte b = buffer[i];
+                if (b == 'N' || b == 'n') {
+                    if (gapStart < 0) {
+                        gapStart = base + i;
+                    }
+                } else if (gapStart >= 0) {
+                    gaps.add(new GapRegion(gapStart + 1, base + i));
+                    gapStart = -1;
+                }
+            }
+            base += chunk;
+        }
+        if (gapStart >= 0) {
+            gaps.add(new GapRegion(gapStart + 1, total));
+        }
+        return gaps;
+    }
+
+    /** Streaming counterpart of {@link #getSlice}; bases are copied from the mapping as they are read. */
+    Reader getSliceReader(int record, long fromBase, long toBase) {
+        checkRange(record, fromBase, toBase);
+        return new SliceReader(record, fromBase - 1, toBase);
+    }
+
+    private void checkRange(int record, long fromBase, long toBase) {
+        if (!isRegular(record)) {
+            throw new IllegalStateException("FASTA record " + record + " is not uniformly line-wrapped");
+        }
+        if (fromBase < 1 || toBase < fromBase || toBase > lengths[record]) {
+            throw new IllegalArgumentException("Invalid sequence range %d..%d for a sequence of %d bases"
+                    .formatted(fromBase, toBase, lengths[record]));
+        }
+    }
+
+    /** Copies {@code length} bases starting at 0-based base {@code base} into {@code dst}. */
+    private void copyBases(int record, long base, byte[] dst, int dstOffset, int length) {
+        int width = lineBases[record];
+        long stride = lineStrides[record];
+        long start = sequenceOffsets[record];
+        while (length > 0) {
+            long line = base / width;
+            int column = (int) (base - line * width);
+            int chunk = Math.min(width - column, length);
+            copyBytes(start + line * stride + column, dst, dstOffset, chunk);
+            base += chunk;
+            dstOffset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private void copyBytes(long offset, byte[] dst, int dstOffset, int length) {
+        while (length > 0) {
+            MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+            int position = (int) (offset & (SEGMENT_SIZE - 1));
+            int chunk = Math.min(length, segment.limit() - position);
+            segment.get(position, dst, dstOffset, chunk);
+            offset += chunk;
+            dstOffset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private byte byteAt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & (SEGMENT_SIZE - 1)));
+    }
+
+    private void scan(long size) {
+        int record = -1;
+        // Per-record wrapping state: the width of the first line, and whether a shorter line
+        // (which must be the last one) has already been seen.
+        int width = 0;
+        int eol = 0;
+        boolean shortLineSeen = false;
+        boolean regular = true;
+        long bases = 0;
+
+        long offset = 0;
+        while (offset < size) {
+            byte first = byteAt(offset);
+            long lineEnd = offset;
+            boolean whitespace = false;
+            while (lineEnd < size) {
+                byte b = byteAt(lineEnd);
+                if (b == '\n') {
+                    break;
+                }
+                if (b <= ' ' && b != '\r') {
+                    whitespace = true;
+                }
+                lineEnd++;
+            }
+            long contentEnd = lineEnd;
+            if (contentEnd > offset && byteAt(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            int terminator = (int) ((lineEnd < size ? lineEnd + 1 : lineEnd) - contentEnd);
+            long next = lineEnd < size ? lineEnd + 1 : lineEnd;
+
+            if (first == '>') {
+                if (record >= 0) {
+                    finishRecord(record, bases, regular ? width : IRREGULAR, width + eol);
+                }
+                record = addRecord(offset, (int) (contentEnd - offset), next);
+                width = 0;
+                eol = 0;
+                shortLineSeen = false;
+                regular = true;
+                bases = 0;
+            } else if (record >= 0) {
+                int lineLength = (int) (contentEnd - offset);
+                if (lineLength == 0 || whitespace || shortLineSeen) {
+                    // Blank lines, embedded whitespace or any line after a short one break the
+                    // fixed-width layout; a trailing blank line at end of file is harmless.
+                    if (!(lineLength == 0 && next >= size)) {
+                        regular = false;
+                    }
+                } else if (width == 0) {
+                    width = lineLength;
+                    eol = terminator;
+                } else if (lineLength < width) {
+                    shortLineSeen = true;
+                } else if (lineLength > width || (terminator != eol && lineEnd < size)) {
+                    // The final line of the file may legitimately lack a terminator.
+                    regular = false;
+                }
+                bases += lineLength;
+            }
+            offset = next;
+        }
+        if (record >= 0) {
+            finishRecord(record, bases, regular ? width : IRREGULAR, width + eol);
+        }
+    }
+
+    private int addRecord(long headerOffset, int headerLength, long sequenceOffset) {
+        if (count == lengths.length) {
+            int capacity = count * 2;
+            headerOffsets = Arrays.copyOf(headerOffsets, capacity);
+            headerLengths = Arrays.copyOf(headerLengths, capacity);
+            sequenceOffsets = Arrays.copyOf(sequenceOffsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            lineBases = Arrays.copyOf(lineBases, capacity);
+            lineStrides = Arrays.copyOf(lineStrides, capacity);
+        }
+        headerOffsets[count] = headerOffset;
+        headerLengths[count] = headerLength;
+        sequenceOffsets[count] = sequenceOffset;
+        return count++;
+    }
+
+    private void finishRecord(int record, long bases, int width, int stride) {
+        lengths[record] = bases;
+        // An empty record has no lines to wrap; give it a nominal width so it still counts as regular.
+        lineBases[record] = width == 0 ? 1 : width;
+        lineStrides[record] = width == 0 ? 1 : stride;
+    }
+
+    /** Reader over a slice that copies from the mapping one buffer-full at a time. */
+    private final class SliceReader extends Reader {
+
+        private final int record;
+        private final long end;
+        private long next;
+        private byte[] buffer = new byte[0];
+
+        private SliceReader(int record, long start, long end) {
+            this.record = record;
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (buffer == null) {
+                throw new IOException("Reader closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (next >= end) {
+                return -1;
+            }
+            int chunk = (int) Math.min(len, end - next);
+            if (buffer.length < chunk) {
+                buffer = new byte[chunk];
+            }
+            copyBases(record, next, buffer, 0, chunk);
+            for (int i = 0; i < chunk; i++) {
+                cbuf[off + i] = (char) (buffer[i] & 0xFF);
+            }
+            next += chunk;
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact, insertion-ordered map from FASTA submission ID to the reader's ordinal.
+ *
+ * <p>Entries live in parallel {@code String[]}/{@code long[]} arrays and are located through an
+ * open-addressing {@code int[]} table, so no {@code Map.Entry} or boxed {@code Long} is allocated per
+ * sequence. FASTA files with millions of short records index in a fraction of the heap a
+ * {@code HashMap<String, Long>} needs.
+ *
+ * <p>Entry positions ({@code 0..size-1}) follow insertion order and can be used as dense keys for
+ * side arrays, such as the lazily parsed headers in {@link FileSequenceSource}.
+ */
+final class SeqIdOrdinalIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int EMPTY = -1;
+
+    private String[] seqIds;
+    private long[] ordinals;
+    private int[] table;
+    private int size;
+
+    SeqIdOrdinalIndex() {
+        this(16);
+    }
+
+    SeqIdOrdinalIndex(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        seqIds = new String[capacity];
+        ordinals = new long[capacity];
+        table = newTable(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds a mapping. Returns {@code false} (and leaves the index unchanged) if {@code seqId} is
+     * already present.
+     */
+    boolean add(String seqId, long ordinal) {
+        if (size == seqIds.length) {
+            grow();
+        }
+        int mask = table.length - 1;
+        int slot = hash(seqId) & mask;
+        while (table[slot] != EMPTY) {
+            if (seqIds[table[slot]].equals(seqId)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        seqIds[size] = seqId;
+        ordinals[size] = ordinal;
+        table[slot] = size;
+        size++;
+        return true;
+    }
+
+    /** Returns the entry position of {@code seqId}, or {@link #NOT_FOUND}. */
+    int indexOf(String seqId) {
+        if (seqId == null) {
+            return NOT_FOUND;
+        }
+        int mask = table.length - 1;
+        int slot = hash(seqId) & mask;
+        int entry;
+        while ((entry = table[slot]) != EMPTY) {
+            if (seqIds[entry].equals(seqId)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    boolean contains(String seqId) {
+        return indexOf(seqId) != NOT_FOUND;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String seqIdAt(int index) {
+        return seqIds[index];
+    }
+
+    long ordinalAt(int index) {
+        return ordinals[index];
+    }
+
+    /** Read-only {@link Map} view; boxes ordinals on access only. */
+    Map<String, Long> asMap() {
+        return new MapView();
+    }
+
+    private void grow() {
+        int capacity = seqIds.length * 2;
+        seqIds = Arrays.copyOf(seqIds, capacity);
+        ordinals = Arrays.copyOf(ordinals, capacity);
+        table = newTable(tableSizeFor(capacity));
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(seqIds[i]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i;
+        }
+    }
+
+    /** Keeps the load factor at or below 0.5. */
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 2;
+    }
+
+    private static int[] newTable(int length) {
+        int[] t = new int[length];
+        Arrays.fill(t, EMPTY);
+        return t;
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private final class MapView extends AbstractMap<String, Long> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String s && contains(s);
+        }
+
+        @Override
+        public Long get(Object key) {
+            if (!(key instanceof String s)) {
+                return null;
+            }
+            int index = indexOf(s);
+            return index == NOT_FOUND ? null : ordinals[index];
+        }
+
+        @Override
+        public Set<Entry<String, Long>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<String, Long>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<String, Long> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new SimpleImmutableEntry<>(seqIds[i], ordinals[i]);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import uk.ac.ebi.embl.gff3tools.translation.TranslationCache;
+import uk.ac.ebi.embl.gff3tools.validation.ContextProvider;
+import uk.ac.ebi.embl.gff3tools.validation.ValidationContext;
+
+/**
+ * Supplies an optional shared {@link TranslationCache} to {@code TranslationFix}.
+ *
+ * <p>The auto-discovered instance has no capacity and reports itself inactive, so translations
+ * are not cached unless a caller registers a provider with a positive {@code maxEntries}.
+ */
+public class TranslationCacheProvider implements ContextProvider<TranslationCache> {
+
+    private final TranslationCache cache;
+
+    public TranslationCacheProvider() {
+        this(0);
+    }
+
+    public TranslationCacheProvider(int maxEntries) {
+        this.cache = maxEntries > 0 ? new TranslationCache(maxEntries) : null;
+    }
+
+    @Override
+    public TranslationCache get(ValidationContext context) {
+        return cache;
+    }
+
+    @Override
+    public Class<TranslationCache> type() {
+        return TranslationCache.class;
+    }
+
+    @Override
+    public boolean isActive() {
+        return cache != null;
+    }
+}
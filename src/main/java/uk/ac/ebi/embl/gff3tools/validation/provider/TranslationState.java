@@ -10,9 +10,11 @@
  */
 package uk.ac.ebi.embl.gff3tools.validation.provider;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import uk.ac.ebi.embl.gff3tools.gff3.TranslationKey;
 
 /**
@@ -63,13 +65,39 @@ public class TranslationState {
      */
     public void forEachResolved(BiConsumer<String, String> action) {
         entries.forEach((key, entry) -> {
-            String translation = entry.newTranslation();
-            if (translation == null || translation.isEmpty()) {
-                translation = entry.oldTranslation();
-            }
-            if (translation != null && !translation.isEmpty()) {
+            String translation = resolve(entry);
+            if (translation != null) {
                 action.accept(key, translation);
             }
         });
     }
+
+    /**
+     * Remove entries from the front of the insertion order while {@code complete} accepts their
+     * key, passing each resolved translation to {@code action}. Stops at the first incomplete key,
+     * so draining in several steps visits translations in the same order as a single
+     * {@link #forEachResolved} call.
+     */
+    public void drainResolved(Predicate<String> complete, BiConsumer<String, String> action) {
+        Iterator<Map.Entry<String, TranslationEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, TranslationEntry> e = iterator.next();
+            if (!complete.test(e.getKey())) {
+                return;
+            }
+            iterator.remove();
+            String translation = resolve(e.getValue());
+            if (translation != null) {
+                action.accept(e.getKey(), translation);
+            }
+        }
+    }
+
+    private static String resolve(TranslationEntry entry) {
+        String translation = entry.newTranslation();
+        if (translation == null || translation.isEmpty()) {
+            translation = entry.oldTranslation();
+        }
+        return translation == null || translation.isEmpty() ? null : translation;
+    }
 }
@@ -67,6 +67,35 @@ class FFToGFF3ConverterTest {
         }
     }
 
+    @Test
+    void testConcurrentConversionMatchesSequential() throws IOException {
+        Map<String, Path> testFiles = TestUtils.getTestFiles("fftogff3_rules", ".embl");
+
+        // Every rule file concatenated, so that the pipeline has many entries in flight.
+        StringBuilder allEntries = new StringBuilder();
+        for (Path testFile : testFiles.values()) {
+            String input = Files.readString(testFile);
+            assertEquals(convertWithThreads(input, 1), convertWithThreads(input, 4), "Error on test case: " + testFile);
+            allEntries.append(input.strip()).append('\n');
+        }
+        String input = allEntries.toString();
+        assertEquals(convertWithThreads(input, 1), convertWithThreads(input, 4));
+    }
+
+    /** Output of converting {@code input}, or the error it failed with. */
+    private static String convertWithThreads(String input, int threads) {
+        ValidationEngine engine = new ValidationEngineBuilder().build();
+        FFToGff3Converter converter = new FFToGff3Converter(engine, threads);
+        StringWriter stringWriter = new StringWriter();
+        try (BufferedReader reader = new BufferedReader(new StringReader(input));
+                BufferedWriter writer = new BufferedWriter(stringWriter)) {
+            converter.convert(reader, writer);
+        } catch (Exception e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+        return stringWriter.toString();
+    }
+
     @Test
     void testWriteGFF3UsingReducedFlatfile() throws IOException {
 
@@ -120,6 +120,30 @@ class GFF3AnnotationFactoryTest {
         assertEquals(childCount, childList.size());
     }
 
+    @Test
+    public void orderRootAndChildrenMatchesEmittedParentIgnoringCase() {
+        GFF3AnnotationFactory gFF3AnnotationFactory =
+                new GFF3AnnotationFactory(new ValidationEngineBuilder().build(), new GFF3DirectivesFactory());
+        GFF3Feature gene = TestUtils.createGFF3Feature(Optional.of("gene"), Optional.empty());
+        // The Parent differs from the gene's ID only in case, so the tree keeps both as roots.
+        GFF3Feature mRNA = TestUtils.createGFF3Feature(Optional.of("mRNA"), Optional.of("GENE"));
+
+        List<GFF3Feature> featureList = new ArrayList<>(List.of(gene, mRNA));
+        List<GFF3Feature> rootNode = gFF3AnnotationFactory.buildFeatureTree(featureList);
+        assertEquals(2, rootNode.size());
+
+        featureList.clear();
+        for (GFF3Feature root : rootNode) {
+            gFF3AnnotationFactory.orderRootAndChildren(featureList, root);
+        }
+
+        assertEquals(List.of(gene, mRNA), featureList);
+        assertFalse(gene.hasAttribute("Parent"));
+        // The emitted gene is still recognised as the mRNA's parent, so the mRNA keeps its Parent.
+        assertTrue(mRNA.hasAttribute("Parent"));
+        assertFalse(mRNA.hasAttribute("gene"));
+    }
+
     @Test
     public void testGetIncrementalId() {
         ValidationEngineBuilder builder = new ValidationEngineBuilder();
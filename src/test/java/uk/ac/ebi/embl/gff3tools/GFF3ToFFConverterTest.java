@@ -13,28 +13,97 @@ package uk.ac.ebi.embl.gff3tools;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import picocli.CommandLine;
 import uk.ac.ebi.embl.gff3tools.cli.Main;
+import uk.ac.ebi.embl.gff3tools.exception.AggregatedValidationException;
+import uk.ac.ebi.embl.gff3tools.exception.ValidationException;
+import uk.ac.ebi.embl.gff3tools.gff3toff.Gff3ToFFConverter;
+import uk.ac.ebi.embl.gff3tools.validation.ValidationEngine;
+import uk.ac.ebi.embl.gff3tools.validation.ValidationEngineBuilder;
 
 class GFF3ToFFConverterTest {
 
+    // The first entry fails to map, and the second holds a record the reader rejects.
+    private static final String ERRORS_IN_CONSECUTIVE_ENTRIES = "##gff-version 3.1.26\n"
+            + "##sequence-region BN000065.1 1 1000\n"
+            + "BN000065.1\t.\tnot_a_feature\t1\t100\t.\t+\t.\tID=unmapped_1;\n"
+            + "##sequence-region BN000066.1 1 1000\n"
+            + "BN000066.1\t.\tgene\t1\t500\t.\t+\t.\tID=gene_1;gene=abc;\n"
+            + "BN000066.1\t. 133806\t191728\t.\t+\t.\tParent=gene_1;\n";
+
+    @TempDir
+    Path tempDir;
+
     @Test
     void testWriteEMBL() throws Exception {
+        assertConvertsToExpected();
+    }
+
+    @Test
+    void testWriteEMBLWithThreads() throws Exception {
+        assertConvertsToExpected("--threads", "4");
+    }
+
+    @Test
+    void failFastThrowsTheFirstErrorInEntryOrderWithThreads() throws Exception {
+        Path gff3 = Files.writeString(tempDir.resolve("errors.gff3"), ERRORS_IN_CONSECUTIVE_ENTRIES);
+
+        ValidationException sequential = convertExpectingError(gff3, true, 1);
+        ValidationException concurrent = convertExpectingError(gff3, true, 4);
+
+        assertTrue(sequential.getMessage().contains("not_a_feature"), sequential.getMessage());
+        assertEquals(sequential.getMessage(), concurrent.getMessage());
+    }
+
+    @Test
+    void collectsErrorsInEntryOrderWithThreads() throws Exception {
+        Path gff3 = Files.writeString(tempDir.resolve("errors.gff3"), ERRORS_IN_CONSECUTIVE_ENTRIES);
+
+        List<String> sequential = messages(convertExpectingError(gff3, false, 1));
+        List<String> concurrent = messages(convertExpectingError(gff3, false, 4));
+
+        assertTrue(sequential.size() >= 2, sequential.toString());
+        assertTrue(sequential.get(0).contains("not_a_feature"), sequential.toString());
+        assertEquals(sequential, concurrent);
+    }
+
+    private ValidationException convertExpectingError(Path gff3, boolean failFast, int threads) throws Exception {
+        ValidationEngine engine = new ValidationEngineBuilder().failFast(failFast).build();
+        Gff3ToFFConverter converter = new Gff3ToFFConverter(engine, gff3, null, threads);
+        try (BufferedReader reader = Files.newBufferedReader(gff3);
+                BufferedWriter writer = new BufferedWriter(new StringWriter())) {
+            return assertThrows(ValidationException.class, () -> converter.convert(reader, writer));
+        }
+    }
+
+    private static List<String> messages(ValidationException e) {
+        return assertInstanceOf(AggregatedValidationException.class, e).getErrors().stream()
+                .map(ValidationException::getMessage)
+                .toList();
+    }
+
+    private void assertConvertsToExpected(String... options) throws Exception {
         Map<String, Path> testFiles = TestUtils.getTestFiles("gff3toff_rules", ".gff3");
 
         for (String filePrefix : testFiles.keySet()) {
             Path testFileDir = testFiles.get(filePrefix).getParent();
             String inFile = testFiles.get(filePrefix).toString();
             String outFile = testFileDir.resolve(filePrefix + "-out.embl").toString();
-            String[] args = {"conversion", inFile, outFile};
+            List<String> args = new ArrayList<>(List.of("conversion"));
+            args.addAll(List.of(options));
+            args.addAll(List.of(inFile, outFile));
             try {
                 StringWriter err = new StringWriter();
                 StringWriter out = new StringWriter();
@@ -42,7 +111,7 @@ class GFF3ToFFConverterTest {
                 command.setErr(new PrintWriter(err));
                 command.setOut(new PrintWriter(out));
 
-                int exitCode = command.execute(args);
+                int exitCode = command.execute(args.toArray(String[]::new));
                 assertEquals(
                         0,
                         exitCode,
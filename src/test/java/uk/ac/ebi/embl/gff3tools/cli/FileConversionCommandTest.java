@@ -12,11 +12,14 @@ package uk.ac.ebi.embl.gff3tools.cli;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -374,6 +377,59 @@ class FileConversionCommandTest {
         assertTrue(Files.readString(outputFile).contains("TEST01.1\t.\tgap\t9\t18\t"));
     }
 
+    @Test
+    void fastaToGff3_gzOutputFileName_writesGzippedOutput() throws Exception {
+        Path inputFile = tempDir.resolve("input.fasta");
+        Files.writeString(inputFile, GAPPY_FASTA);
+        Path outputFile = tempDir.resolve("output.gff3.gz");
+
+        int exitCode = executeConversion("conversion", inputFile.toString(), outputFile.toString());
+
+        assertEquals(0, exitCode, "FASTA to gzipped GFF3 conversion should succeed");
+        String content = readGzipped(outputFile);
+        assertTrue(content.contains("##sequence-region TEST01.1 1 100"), content);
+        assertTrue(content.contains("TEST01.1\t.\tgap\t9\t18\t"), content);
+    }
+
+    @Test
+    void fastaToGff3_gzipOutputOption_withSmallBuffer_matchesUncompressedOutput() throws Exception {
+        Path inputFile = tempDir.resolve("input.fasta");
+        Files.writeString(inputFile, GAPPY_FASTA);
+        Path plainOutput = tempDir.resolve("plain.gff3");
+        Path gzipOutput = tempDir.resolve("compressed.gff3");
+
+        assertEquals(0, executeConversion("conversion", inputFile.toString(), plainOutput.toString()));
+        assertEquals(
+                0,
+                executeConversion(
+                        "conversion",
+                        "--gzip-output",
+                        "--output-buffer-size",
+                        "16",
+                        inputFile.toString(),
+                        gzipOutput.toString()));
+
+        assertEquals(Files.readString(plainOutput), readGzipped(gzipOutput));
+    }
+
+    @Test
+    void conversion_nonPositiveOutputBufferSize_failsWithUsageError() throws Exception {
+        Path inputFile = tempDir.resolve("input.fasta");
+        Files.writeString(inputFile, GAPPY_FASTA);
+        Path outputFile = tempDir.resolve("output.gff3");
+
+        int exitCode = executeConversion("conversion", "-obs", "0", inputFile.toString(), outputFile.toString());
+
+        assertEquals(CLIExitCode.USAGE.asInt(), exitCode);
+        assertFalse(Files.exists(outputFile));
+    }
+
+    private static String readGzipped(Path path) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
     @Test
     void fastaToGff3_linkageEvidenceWithoutGapType_failsWithUsageError() throws Exception {
         Path inputFile = tempDir.resolve("input.fasta");
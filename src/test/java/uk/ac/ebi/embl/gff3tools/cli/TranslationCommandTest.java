@@ -139,6 +139,37 @@ class TranslationCommandTest {
         assertTrue(Files.exists(expectedOutput), "Default output file should be created at " + expectedOutput);
     }
 
+    @Test
+    void gff3FastaMode_writesFastaSectionAfterAllAnnotations() throws Exception {
+        Path seq1 = createPlainSequenceFile("chr1.seq");
+        Path seq2 = createPlainSequenceFile("chr2.seq");
+        Path gff3 = createGff3File("chr1", "chr2");
+        Path output = tempDir.resolve("output.gff3");
+
+        int exitCode = executeTranslate(
+                "translate",
+                "--sequence",
+                "chr1:" + seq1,
+                "--sequence",
+                "chr2:" + seq2,
+                "-o",
+                output.toString(),
+                gff3.toString());
+
+        assertEquals(0, exitCode, "Expected success exit code");
+        String content = Files.readString(output);
+        int fastaSection = content.indexOf("##FASTA");
+        assertTrue(fastaSection > content.indexOf("ID=cds2"), "##FASTA must follow every feature line");
+        assertEquals(fastaSection, content.lastIndexOf("##FASTA"), "Exactly one ##FASTA section expected");
+        assertTrue(content.indexOf("chr1|cds1") > fastaSection);
+        assertTrue(content.indexOf("chr2|cds2") > content.indexOf("chr1|cds1"));
+        try (var files = Files.list(tempDir)) {
+            assertTrue(
+                    files.noneMatch(f -> f.getFileName().toString().endsWith(".partial")),
+                    "Partial output should be moved into place");
+        }
+    }
+
     // --- fasta mode tests ---
 
     @Test
@@ -184,6 +184,47 @@ class FastaToGff3ConverterTest {
         Files.deleteIfExists(fasta);
     }
 
+    @Test
+    void concurrentScanMatchesSequentialOutput() throws Exception {
+        // Sequences with different numbers of gaps, so that a gap ID assigned out of order would
+        // show up in the output.
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 40; i++) {
+            content.append(">SEQ").append(i).append(".1 | ").append(HEADER_JSON).append('\n');
+            content.append("ATGC");
+            for (int gap = 0; gap < i % 4; gap++) {
+                content.append("NNNNNNNNNNATGC");
+            }
+            content.append('\n');
+        }
+        Path fasta = Files.createTempFile("many", ".fasta");
+        Files.writeString(fasta, content);
+
+        String sequential = convertWithThreads(fasta, 1, false);
+        // Only memory-mapped sequences are scanned in parallel; a stream-read source stays sequential.
+        String concurrent = convertWithThreads(fasta, 4, true);
+
+        assertEquals(sequential, concurrent);
+        assertEquals(sequential, convertWithThreads(fasta, 4, false));
+        assertTrue(sequential.contains("ID=gap_58;"), sequential);
+        assertTrue(sequential.indexOf("SEQ9.1\t") < sequential.indexOf("SEQ10.1\t"));
+
+        Files.deleteIfExists(fasta);
+    }
+
+    private static final String HEADER_JSON =
+            "{\"description\":\"seq\", \"molecule_type\":\"GENOMIC DNA\", \"topology\":\"linear\"}";
+
+    private static String convertWithThreads(Path fasta, int threads, boolean memoryMapped) throws Exception {
+        FileSequenceSource source = new FileSequenceSource(fasta, SequenceFormat.fasta, null, memoryMapped);
+        try {
+            ValidationEngine engine = engineWithHeaders(source);
+            return runConversion(new FastaToGff3Converter(engine, source, 10, null, null, threads));
+        } finally {
+            source.close();
+        }
+    }
+
     @Test
     void feedsSequenceLookupAndFastaHeaderContextFromInputFasta() throws Exception {
         // Wire the input FASTA into the engine providers exactly as the conversion command does,
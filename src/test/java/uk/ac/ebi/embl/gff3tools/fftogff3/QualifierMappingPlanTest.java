@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.fftogff3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.embl.api.entry.feature.Feature;
+import uk.ac.ebi.embl.api.entry.feature.FeatureFactory;
+import uk.ac.ebi.embl.api.entry.qualifier.QualifierFactory;
+
+class QualifierMappingPlanTest {
+
+    private final FeatureFactory featureFactory = new FeatureFactory();
+    private final QualifierFactory qualifierFactory = new QualifierFactory();
+
+    @Test
+    void mapsQualifiersInOrderAndSkipsGene() {
+        Feature feature = featureFactory.createFeature("CDS");
+        feature.addQualifier("gene", "matK");
+        feature.addQualifier("db_xref", "UniProtKB:P1");
+        feature.addQualifier("product", "maturase K");
+        feature.addQualifier("db_xref", "UniProtKB:P2");
+        feature.addQualifier(qualifierFactory.createQualifier("pseudo"));
+
+        Map<String, List<String>> attributes = QualifierMappingPlan.forFeature(feature).map(feature).attributes();
+
+        assertEquals(List.of("Dbxref", "product", "pseudo"), List.copyOf(attributes.keySet()));
+        assertEquals(List.of("UniProtKB:P1", "UniProtKB:P2"), attributes.get("Dbxref"));
+        assertEquals(List.of("true"), attributes.get("pseudo"));
+    }
+
+    @Test
+    void derivesCdsPhaseFromCodonStart() {
+        Feature cds = featureFactory.createFeature("CDS");
+        assertEquals("0", QualifierMappingPlan.forFeature(cds).map(cds).phase());
+
+        cds.addQualifier("codon_start", "3");
+        assertEquals("2", QualifierMappingPlan.forFeature(cds).map(cds).phase());
+
+        Feature gene = featureFactory.createFeature("gene");
+        gene.addQualifier("codon_start", "3");
+        assertEquals(".", QualifierMappingPlan.forFeature(gene).map(gene).phase());
+    }
+
+    @Test
+    void phaseQualifierTakesPrecedence() {
+        Feature cds = featureFactory.createFeature("CDS");
+        cds.addQualifier("codon_start", "3");
+        cds.addQualifier("phase", "1");
+        cds.addQualifier("phase", "2");
+
+        assertEquals("1", QualifierMappingPlan.forFeature(cds).map(cds).phase());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class FeatureLineWriterTest {
+
+    @Test
+    void encodeMatchesUrlEncoderWithSpacesKept() {
+        List<String> inputs = List.of(
+                "",
+                "plain_ID-1.2*",
+                "with space",
+                "a+b",
+                "k=v;x,y%z&w/q:r",
+                "tab\tnewline\n",
+                "café",
+                "中文",
+                "emoji 😀 end",
+                "lone \ud800 surrogate",
+                "~!'()");
+        for (String input : inputs) {
+            String expected = URLEncoder.encode(input, StandardCharsets.UTF_8).replace("+", " ");
+            assertEquals(expected, FeatureLineWriter.encode(input), "Encoding of: " + input);
+        }
+    }
+
+    @Test
+    void encodeHandlesEscapesCrossingTheBufferBoundary() {
+        for (String unit : List.of("%%a", ",=;:/(x", "é;b", "😀a")) {
+            String input = unit.repeat(400);
+            String expected = URLEncoder.encode(input, StandardCharsets.UTF_8).replace("+", " ");
+            assertEquals(expected, FeatureLineWriter.encode(input), "Encoding of: " + unit);
+        }
+    }
+
+    @Test
+    void writesLongEscapedValuesAcrossTheBufferBoundary() throws Exception {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.empty(), Optional.empty(), "seq1", Optional.empty(), ".", "CDS", 1, 10, ".", "+", "0");
+        String product = "a".repeat(230) + "%%a".repeat(100) + "(b),c";
+        feature.addAttribute("product", product);
+
+        StringWriter out = new StringWriter();
+        new FeatureLineWriter().write(out, feature);
+
+        String encoded = URLEncoder.encode(product, StandardCharsets.UTF_8);
+        assertEquals("seq1\t.\tCDS\t1\t10\t.\t+\t0\tproduct=" + encoded + ";\n", out.toString());
+    }
+
+    @Test
+    void encodeReturnsSameInstanceWhenNothingToEscape() {
+        String input = "gene_1.2";
+        assertSame(input, FeatureLineWriter.encode(input));
+    }
+
+    @Test
+    void writesIdAndParentFirstThenSortedKeys() throws Exception {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.of("cds1"),
+                Optional.of("gene1"),
+                "seq1",
+                Optional.of(2),
+                "ENA",
+                "CDS",
+                12,
+                1234567890123L,
+                ".",
+                "-",
+                "0");
+        feature.addAttribute("product", "a;b");
+        feature.addAttribute("Parent", "gene1");
+        feature.addAttribute("note", "x");
+        feature.addAttribute("note", "y z");
+        feature.addAttribute("ID", "cds1");
+
+        StringWriter out = new StringWriter();
+        new FeatureLineWriter().write(out, feature);
+
+        assertEquals(
+                "seq1.2\tENA\tCDS\t12\t1234567890123\t.\t-\t0\tID=cds1;Parent=gene1;note=x,y z;product=a%3Bb;\n",
+                out.toString());
+    }
+
+    @Test
+    void writesSingleSemicolonWhenFeatureHasNoAttributes() throws Exception {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.empty(), Optional.empty(), "seq1", Optional.empty(), ".", "gap", 1, 10, ".", "+", ".");
+
+        StringWriter out = new StringWriter();
+        new FeatureLineWriter().write(out, feature);
+
+        assertEquals("seq1\t.\tgap\t1\t10\t.\t+\t.\t;\n", out.toString());
+    }
+}
@@ -176,4 +176,146 @@ public class GFF3AnnotationTest {
         GFF3Annotation annotation3 = new GFF3Annotation();
         assertThrows(RuntimeException.class, annotation3::getAccession);
     }
+
+    private static GFF3Feature feature(String id, String type, long start, long end) {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.of(id), Optional.empty(), "ACC00001", Optional.of(1), "ENA", type, start, end, ".", "+", ".");
+        feature.addAttribute("ID", id);
+        return feature;
+    }
+
+    private static GFF3Feature child(String id, String parentId, long start, long end) {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.of(id),
+                Optional.of(parentId),
+                "ACC00001",
+                Optional.of(1),
+                "ENA",
+                "exon",
+                start,
+                end,
+                ".",
+                "+",
+                ".");
+        feature.addAttribute("ID", id);
+        feature.addAttribute("Parent", parentId);
+        return feature;
+    }
+
+    @Test
+    public void lookupByIdAndParentFollowsAdditionsAndRemovals() {
+        GFF3Annotation annotation = new GFF3Annotation();
+        GFF3Feature gene = feature("gene1", "gene", 1, 900);
+        GFF3Feature exon1 = child("exon1", "gene1", 1, 100);
+        GFF3Feature exon2 = child("exon2", "gene1", 200, 300);
+        annotation.addFeature(gene);
+        annotation.addFeature(exon1);
+
+        assertEquals(List.of(gene), annotation.getFeaturesById("gene1"));
+        assertEquals(List.of(exon1), annotation.getFeaturesByParentId("gene1"));
+
+        annotation.addFeature(exon2);
+        assertEquals(List.of(exon1, exon2), annotation.getFeaturesByParentId("gene1"));
+
+        annotation.removeFeature(exon1);
+        assertEquals(List.of(exon2), annotation.getFeaturesByParentId("gene1"));
+        assertTrue(annotation.getFeaturesById("exon1").isEmpty());
+
+        exon2.setParentId(Optional.empty());
+        assertTrue(annotation.getFeaturesByParentId("gene1").isEmpty());
+        assertTrue(annotation.getFeaturesById("missing").isEmpty());
+    }
+
+    @Test
+    public void lookupByIdAndParentFollowsRewrittenKeys() {
+        GFF3Annotation annotation = new GFF3Annotation();
+        GFF3Feature gene1 = feature("gene1", "gene", 1, 900);
+        GFF3Feature gene2 = feature("gene2", "gene", 1000, 1900);
+        GFF3Feature exon = child("exon1", "gene1", 1, 100);
+        annotation.addFeature(gene1);
+        annotation.addFeature(gene2);
+        annotation.addFeature(exon);
+        assertEquals(List.of(gene1), annotation.getFeaturesById("gene1"));
+
+        gene1.setAttributeList("ID", List.of("gene1a"));
+        exon.setParentId(Optional.of("gene2"));
+
+        assertEquals(Optional.of("gene1a"), gene1.getId());
+        assertTrue(annotation.getFeaturesById("gene1").isEmpty());
+        assertEquals(List.of(gene1), annotation.getFeaturesById("gene1a"));
+        assertTrue(annotation.getFeaturesByParentId("gene1").isEmpty());
+        assertEquals(List.of(exon), annotation.getFeaturesByParentId("gene2"));
+
+        gene2.removeAttributeList("ID");
+        assertEquals(Optional.empty(), gene2.getId());
+        assertTrue(annotation.getFeaturesById("gene2").isEmpty());
+    }
+
+    @Test
+    public void removedFeaturesAreDroppedInOrderOnNextAccess() throws Exception {
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setSequenceRegion(new GFF3SequenceRegion("ACC00001", Optional.of(1), 1, 1000));
+        GFF3Feature gene1 = feature("gene1", "gene", 1, 100);
+        GFF3Feature gene2 = feature("gene2", "gene", 200, 300);
+        GFF3Feature gene3 = feature("gene3", "gene", 400, 500);
+        GFF3Feature gene4 = feature("gene4", "gene", 600, 700);
+        annotation.addFeature(gene1);
+        annotation.addFeature(gene2);
+        annotation.addFeature(gene3);
+        annotation.addFeature(gene4);
+
+        annotation.removeFeature(gene3);
+        annotation.removeFeature(gene1);
+
+        StringWriter written = new StringWriter();
+        annotation.writeGFF3String(written);
+        assertFalse(written.toString().contains("gene1"));
+        assertFalse(written.toString().contains("gene3"));
+        assertEquals(List.of(gene2, gene4), annotation.getFeatures());
+
+        annotation.removeFeature(gene2);
+        annotation.addFeature(gene2);
+        assertEquals(List.of(gene4, gene2), annotation.getFeatures());
+    }
+
+    @Test
+    public void featuresViewIsReadOnlyAndAppliesRemovals() {
+        GFF3Annotation annotation = new GFF3Annotation();
+        GFF3Feature gene1 = feature("gene1", "gene", 1, 100);
+        GFF3Feature gene2 = feature("gene2", "gene", 200, 300);
+        annotation.addFeature(gene1);
+        annotation.addFeature(gene2);
+        assertEquals(List.of(gene1), annotation.getFeaturesById("gene1"));
+
+        annotation.removeFeature(gene1);
+        List<GFF3Feature> view = annotation.getFeaturesView();
+
+        assertEquals(List.of(gene2), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(gene1));
+        assertTrue(annotation.getFeaturesById("gene1").isEmpty());
+        assertEquals(List.of(gene2), annotation.getFeaturesById("gene2"));
+    }
+
+    @Test
+    public void modificationCountChangesOnlyWithTheFeatures() {
+        GFF3Annotation annotation = new GFF3Annotation();
+        GFF3Feature gene = feature("gene1", "gene", 1, 100);
+        annotation.addFeature(gene);
+        long count = annotation.getModificationCount();
+
+        annotation.getFeaturesView();
+        gene.addAttribute("note", "unchanged count");
+        assertEquals(count, annotation.getModificationCount());
+
+        annotation.getFeatures();
+        assertNotEquals(count, annotation.getModificationCount(), "the caller may change the list");
+        count = annotation.getModificationCount();
+
+        annotation.removeFeature(gene);
+        assertNotEquals(count, annotation.getModificationCount());
+        count = annotation.getModificationCount();
+
+        annotation.addFeature(feature("gene2", "gene", 200, 300));
+        assertNotEquals(count, annotation.getModificationCount());
+    }
 }
@@ -10,14 +10,22 @@
  */
 package uk.ac.ebi.embl.gff3tools.gff3;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import uk.ac.ebi.embl.gff3tools.TestUtils;
+import uk.ac.ebi.embl.gff3tools.utils.OntologyClient;
 import uk.ac.ebi.embl.gff3tools.utils.OntologyTerm;
 
 public class GFF3FeatureTest {
@@ -131,4 +139,64 @@ public class GFF3FeatureTest {
         assertTrue(feature.isFivePrimePartial());
         assertTrue(feature.isThreePrimePartial());
     }
+
+    @Test
+    public void testHashCodeStringIgnoresLocationPartialityAndAttributeOrder() {
+        GFF3Feature first = TestUtils.createGFF3Feature("exon", 1, 100);
+        first.addAttribute("note", "a");
+        first.addAttribute("gene", "abc");
+        first.setFivePrimePartial();
+        GFF3Feature second = TestUtils.createGFF3Feature("exon", 200, 300);
+        second.addAttribute("gene", "abc");
+        second.addAttribute("note", "a");
+
+        assertEquals(32, first.hashCodeString().length());
+        assertEquals(first.hashCodeString(), second.hashCodeString());
+    }
+
+    @Test
+    public void testHashCodeStringDistinguishesFieldsAndValueBoundaries() {
+        GFF3Feature feature = TestUtils.createGFF3Feature("exon", 1, 100);
+        feature.addAttribute("note", "ab");
+        feature.addAttribute("note", "c");
+        GFF3Feature shifted = TestUtils.createGFF3Feature("exon", 1, 100);
+        shifted.addAttribute("note", "a");
+        shifted.addAttribute("note", "bc");
+        GFF3Feature otherType = TestUtils.createGFF3Feature("CDS", 1, 100);
+        otherType.addAttribute("note", "ab");
+        otherType.addAttribute("note", "c");
+
+        assertNotEquals(feature.hashCodeString(), shifted.hashCodeString());
+        assertNotEquals(feature.hashCodeString(), otherType.hashCodeString());
+    }
+
+    @Test
+    public void testHashCodeStringRecomputedAfterMutation() {
+        GFF3Feature feature = TestUtils.createGFF3Feature("exon", 1, 100);
+        String initial = feature.hashCodeString();
+        assertEquals(initial, feature.hashCodeString());
+
+        feature.addAttribute("note", "a");
+        String withNote = feature.hashCodeString();
+        assertNotEquals(initial, withNote);
+
+        feature.setParentId(Optional.of("gene1"));
+        String withParent = feature.hashCodeString();
+        assertNotEquals(withNote, withParent);
+
+        feature.setParentId(Optional.empty());
+        feature.removeAttributeList("note");
+        assertEquals(initial, feature.hashCodeString());
+    }
+
+    @Test
+    public void testGetSoIdResolvesOnce() {
+        GFF3Feature feature = TestUtils.createGFF3Feature("CDS", new HashMap<>());
+        OntologyClient ontologyClient = mock(OntologyClient.class);
+        when(ontologyClient.findTermByNameOrSynonym("CDS")).thenReturn(Optional.of(OntologyTerm.CDS.ID));
+
+        assertEquals(Optional.of(OntologyTerm.CDS.ID), feature.getSoId(ontologyClient));
+        assertEquals(Optional.of(OntologyTerm.CDS.ID), feature.getSoId(ontologyClient));
+        verify(ontologyClient, times(1)).findTermByNameOrSynonym("CDS");
+    }
 }
@@ -28,6 +28,7 @@ import uk.ac.ebi.embl.gff3tools.fftogff3.GFF3FileFactory;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
 import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Species;
 import uk.ac.ebi.embl.gff3tools.gff3.reader.GFF3FileReader;
+import uk.ac.ebi.embl.gff3tools.gff3.reader.OffsetRange;
 import uk.ac.ebi.embl.gff3tools.validation.*;
 import uk.ac.ebi.embl.gff3tools.validation.meta.RuleSeverity;
 
@@ -227,6 +228,25 @@ public class GFF3FileReaderTest {
         }
     }
 
+    @Test
+    void attributesFromStringPoolsKeysAndLowCardinalityValuesOnly() throws Exception {
+        try (GFF3FileReader gff3Reader =
+                new GFF3FileReader(getValidationEngine(), new StringReader(""), Path.of("input.gff3"))) {
+            Map<String, List<String>> first = gff3Reader.attributesFromString("ID=cds1;gbkey=CDS;locus_tag=T_1");
+            Map<String, List<String>> second = gff3Reader.attributesFromString("ID=cds1;gbkey=CDS;locus_tag=T_1");
+
+            Assertions.assertSame(keyOf(first, "gbkey"), keyOf(second, "gbkey"));
+            Assertions.assertSame(first.get("gbkey").get(0), second.get("gbkey").get(0));
+            assertEquals(first.get("ID"), second.get("ID"));
+            Assertions.assertNotSame(first.get("ID").get(0), second.get("ID").get(0));
+            Assertions.assertNotSame(first.get("locus_tag").get(0), second.get("locus_tag").get(0));
+        }
+    }
+
+    private static String keyOf(Map<String, List<String>> attributes, String key) {
+        return attributes.keySet().stream().filter(key::equals).findFirst().orElseThrow();
+    }
+
     @Test
     void testSequenceRegionAfterFeatures() throws Exception {
         String gff3Content = "##gff-version 3.2.1\n"
@@ -530,6 +550,31 @@ public class GFF3FileReaderTest {
         }
     }
 
+    @Test
+    void byteInputLocatesTranslationsFromTheForwardOffset() throws Exception {
+        Path testFile = TestUtils.getResourceFile("fftogff3_rules/reduced/contig-reduced-expected.gff3")
+                .toPath();
+
+        Map<String, OffsetRange> backward;
+        try (GFF3FileReader gff3Reader =
+                new GFF3FileReader(getValidationEngine(), Files.newBufferedReader(testFile), testFile)) {
+            backward = gff3Reader.getTranslationOffsetMap();
+        }
+        Map<String, OffsetRange> forward;
+        try (GFF3FileReader gff3Reader = new GFF3FileReader(getValidationEngine(), testFile)) {
+            gff3Reader.readHeader();
+            gff3Reader.read(annotation -> {});
+            forward = gff3Reader.getTranslationOffsetMap();
+        }
+
+        Assertions.assertFalse(forward.isEmpty());
+        assertEquals(backward.keySet(), forward.keySet());
+        for (String key : backward.keySet()) {
+            assertEquals(backward.get(key).start, forward.get(key).start, key);
+            assertEquals(backward.get(key).end, forward.get(key).end, key);
+        }
+    }
+
     private String getAttributeString(Map<String, List<String>> attributes) throws WriteException, IOException {
         try (StringWriter gff3Writer = new StringWriter()) {
             GFF3Annotation annotation = new GFF3Annotation();
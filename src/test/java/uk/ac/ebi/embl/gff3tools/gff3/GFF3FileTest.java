@@ -13,8 +13,6 @@ package uk.ac.ebi.embl.gff3tools.gff3;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.StringWriter;
-import java.io.Writer;
-import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -38,19 +36,10 @@ public class GFF3FileTest {
         testMap.put("geneB", "GGTTAA");
 
         Files.writeString(Path.of("translation.fasta"), input, Charset.defaultCharset());
-        GFF3File obj =
-                GFF3File.builder().fastaFilePath(Path.of("translation.fasta")).build();
-
-        // obj.cdsTranslationMap = testMap;
 
         StringWriter writer = new StringWriter();
 
-        // Access private method via reflection
-        Method method = GFF3File.class.getDeclaredMethod("writeFastaFromExistingFile", Writer.class);
-        method.setAccessible(true);
-
-        // call method
-        method.invoke(obj, writer);
+        GFF3StreamWriter.writeFastaFromExistingFile(writer, Path.of("translation.fasta"));
 
         // Assert
         String output = writer.toString();
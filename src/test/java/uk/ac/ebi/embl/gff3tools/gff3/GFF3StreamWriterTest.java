@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Header;
+import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3SequenceRegion;
+import uk.ac.ebi.embl.gff3tools.gff3.directives.GFF3Species;
+import uk.ac.ebi.embl.gff3tools.validation.provider.TranslationState;
+
+class GFF3StreamWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static GFF3Annotation annotation(String seqId, String featureId) {
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setSequenceRegion(new GFF3SequenceRegion(seqId, Optional.empty(), 1, 100));
+        GFF3Feature feature = new GFF3Feature(
+                Optional.of(featureId), Optional.empty(), seqId, Optional.empty(), ".", "CDS", 1, 93, ".", "+", "0");
+        feature.addAttribute("ID", featureId);
+        annotation.addFeature(feature);
+        return annotation;
+    }
+
+    @Test
+    void writesDirectivesAndAnnotationsImmediately() throws Exception {
+        StringWriter out = new StringWriter();
+        GFF3StreamWriter writer = GFF3StreamWriter.builder().writer(out).build();
+
+        writer.writeHeader(new GFF3Header("3"));
+        assertTrue(out.toString().startsWith("##gff-version 3"));
+
+        writer.writeAnnotation(annotation("seq1", "cds1"));
+        assertTrue(out.toString().contains("ID=cds1"));
+
+        writer.close();
+        assertFalse(out.toString().contains("##FASTA"));
+    }
+
+    @Test
+    void producesSameOutputAsGff3File() throws Exception {
+        TranslationState state = new TranslationState();
+        state.record("seq1|cds1", null, "MFFF");
+        state.record("seq2|cds2", "MKOLD", null);
+        GFF3Header header = new GFF3Header("3");
+        GFF3Species species = new GFF3Species("https://www.ncbi.nlm.nih.gov/Taxonomy/Browser/wwwtax.cgi?id=9606");
+
+        StringWriter expected = new StringWriter();
+        GFF3File.builder()
+                .header(header)
+                .species(species)
+                .annotations(List.of(annotation("seq1", "cds1"), annotation("seq2", "cds2")))
+                .translationState(state)
+                .build()
+                .writeGFF3String(expected);
+
+        StringWriter actual = new StringWriter();
+        try (GFF3StreamWriter writer = GFF3StreamWriter.builder().writer(actual).translationState(state).build()) {
+            writer.writeHeader(header);
+            writer.writeSpecies(species);
+            writer.writeAnnotation(annotation("seq1", "cds1"));
+            writer.writeAnnotation(annotation("seq2", "cds2"));
+        }
+
+        assertEquals(expected.toString(), actual.toString());
+        assertTrue(actual.toString().contains("##FASTA"));
+    }
+
+    @Test
+    void closeStreamsFastaFromFileOnce() throws Exception {
+        Path fasta = tempDir.resolve("translation.fasta");
+        Files.writeString(fasta, ">seq1|cds1\nMFFF\n");
+
+        StringWriter out = new StringWriter();
+        GFF3StreamWriter writer = GFF3StreamWriter.builder().writer(out).fastaFilePath(fasta).build();
+        writer.writeAnnotation(annotation("seq1", "cds1"));
+        writer.close();
+        writer.close();
+
+        String output = out.toString();
+        assertTrue(output.endsWith("##FASTA\n>seq1|cds1\nMFFF\n"));
+        assertEquals(output.indexOf("##FASTA"), output.lastIndexOf("##FASTA"));
+    }
+}
@@ -22,6 +22,7 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -220,4 +221,34 @@ public class GFF3TranslationReaderTest {
 
         Files.delete(noSequence);
     }
+
+    @Test
+    void testForwardScanFindsSameOffsetsAsBackwardScan() throws IOException {
+        String file = Files.readString(tempFile);
+        long fastaOffset = file.indexOf("##FASTA\n") + "##FASTA\n".length();
+
+        Map<String, OffsetRange> backward = reader.readTranslationOffset();
+        Map<String, OffsetRange> forward = reader.readTranslationOffset(fastaOffset);
+
+        Assertions.assertEquals(backward.keySet(), forward.keySet());
+        for (String key : backward.keySet()) {
+            Assertions.assertEquals(backward.get(key).start, forward.get(key).start, key);
+            Assertions.assertEquals(backward.get(key).end, forward.get(key).end, key);
+        }
+    }
+
+    @Test
+    void testGroupByAccession_SeparatesAccessionsSharingAPrefix() {
+        Map<String, OffsetRange> offsets = new TreeMap<>();
+        offsets.put("ACC1.1|cds_b", new OffsetRange(30, 39));
+        offsets.put("ACC1.1|cds_a", new OffsetRange(10, 19));
+        offsets.put("ACC1.10|cds_c", new OffsetRange(50, 59));
+
+        Map<String, Map<String, OffsetRange>> grouped = GFF3FileReader.groupByAccession(offsets);
+
+        Assertions.assertEquals(
+                List.of("ACC1.1|cds_a", "ACC1.1|cds_b"), new ArrayList<>(grouped.get("ACC1.1").keySet()));
+        Assertions.assertEquals(List.of("ACC1.10|cds_c"), new ArrayList<>(grouped.get("ACC1.10").keySet()));
+        Assertions.assertNull(grouped.get("ACC1"));
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3.reader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class OffsetLineReaderTest {
+
+    @Test
+    public void splitsLinesLikeBufferedReader() throws Exception {
+        String content = "a\nb\r\nc\rd\n\n😀 é\n" + "x".repeat(20000) + "\nlast";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        BufferedReader expected = new BufferedReader(new StringReader(content));
+        OffsetLineReader actual = new OffsetLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+
+        String line;
+        do {
+            line = expected.readLine();
+            assertEquals(line, actual.readLine());
+        } while (line != null);
+        assertEquals(bytes.length, actual.byteOffset());
+    }
+
+    @Test
+    public void tracksByteOffsetOfNextLine() throws Exception {
+        String content = "note=café 中文\n##FASTA\n>acc|cds\nMKV\n";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        OffsetLineReader reader = new OffsetLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+
+        reader.readLine();
+        assertEquals("note=café 中文\n".getBytes(StandardCharsets.UTF_8).length, reader.byteOffset());
+        assertEquals("##FASTA", reader.readLine());
+
+        assertEquals('>', bytes[(int) reader.byteOffset()]);
+    }
+
+    @Test
+    public void offsetsStayExactOnMalformedInput() throws Exception {
+        // 0xC3 starts a two-byte UTF-8 sequence that is never completed, and 0xFF is never valid.
+        byte[] bytes = {'a', (byte) 0xC3, '\n', (byte) 0xFF, (byte) 0xFF, '\r', '\n', '#', '#', 'F', 'A', '\n', '>'};
+        OffsetLineReader reader = new OffsetLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+
+        reader.readLine();
+        assertEquals(3, reader.byteOffset());
+        reader.readLine();
+        assertEquals("##FA", reader.readLine());
+        assertEquals('>', bytes[(int) reader.byteOffset()]);
+    }
+
+    @Test
+    public void decodesWithTheGivenCharset() throws Exception {
+        byte[] bytes = "note=café\n##FASTA\n>".getBytes(StandardCharsets.ISO_8859_1);
+        OffsetLineReader reader = new OffsetLineReader(new ByteArrayInputStream(bytes), StandardCharsets.ISO_8859_1);
+
+        assertEquals("note=café", reader.readLine());
+        assertEquals("##FASTA", reader.readLine());
+        assertEquals('>', bytes[(int) reader.byteOffset()]);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.gff3.reader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+
+    @Test
+    public void equalStringsShareOneInstance() {
+        StringPool pool = new StringPool();
+        String first = new String("CDS");
+        String second = new String("CDS");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    public void longStringsAreNotPooled() {
+        StringPool pool = new StringPool();
+        String longValue = "x".repeat(StringPool.MAX_POOLED_LENGTH + 1);
+
+        assertSame(longValue, pool.intern(longValue));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        StringPool pool = new StringPool(2);
+        String a = new String("a");
+        pool.intern(a);
+        pool.intern(new String("b"));
+        // Touch "a" so that "b" becomes the eldest entry.
+        pool.intern(new String("a"));
+        pool.intern(new String("c"));
+
+        assertEquals(2, pool.size());
+        assertSame(a, pool.intern(new String("a")));
+        String b = new String("b");
+        assertSame(b, pool.intern(b));
+    }
+
+    @Test
+    public void readerSharesAttributeKeysAndValuesAcrossLines() throws Exception {
+        try (GFF3FileReader reader = new GFF3FileReader(null, new StringReader(""), null)) {
+            Map<String, List<String>> first = reader.attributesFromString("gbkey=CDS;product=hypothetical protein");
+            Map<String, List<String>> second = reader.attributesFromString("gbkey=CDS;product=hypothetical protein");
+
+            String firstKey = first.keySet().iterator().next();
+            String secondKey = second.keySet().iterator().next();
+            assertSame(firstKey, secondKey);
+            assertSame(first.get("product").get(0), second.get("product").get(0));
+        }
+    }
+}
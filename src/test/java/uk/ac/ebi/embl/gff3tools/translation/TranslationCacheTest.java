@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.translation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
+
+public class TranslationCacheTest {
+
+    private Translator createTranslator(int table) throws TranslationException {
+        GFF3Feature feature = new GFF3Feature(
+                Optional.of("id"), Optional.empty(), "seq", Optional.empty(), "source", "CDS", 1, 100, ".", "+", "0");
+        feature.addAttribute("transl_table", String.valueOf(table));
+        return new Translator(List.of(feature));
+    }
+
+    @Test
+    public void testRepeatedSequenceIsServedFromCache() throws TranslationException {
+        TranslationCache cache = new TranslationCache(10);
+
+        TranslationResult first = createTranslator(11).translate("ATGAAATAG".getBytes(), cache);
+        TranslationResult second = createTranslator(11).translate("ATGAAATAG".getBytes(), cache);
+
+        assertEquals("MK", first.getConceptualTranslation());
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testDifferentTableOrSequenceMisses() throws TranslationException {
+        TranslationCache cache = new TranslationCache(10);
+
+        createTranslator(11).translate("ATGAAATAG".getBytes(), cache);
+        createTranslator(1).translate("ATGAAATAG".getBytes(), cache);
+        createTranslator(11).translate("ATGCCCTAG".getBytes(), cache);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testCacheHitRestoresTranslatorFixState() throws TranslationException {
+        TranslationCache cache = new TranslationCache(10);
+
+        Translator first = createTranslator(11);
+        first.enableAllFixes();
+        TranslationResult fresh = first.translate("ATGAAACCC".getBytes(), cache);
+
+        Translator second = createTranslator(11);
+        second.enableAllFixes();
+        TranslationResult cached = second.translate("ATGAAACCC".getBytes(), cache);
+
+        assertTrue(fresh.isFixedThreePrimePartial());
+        assertSame(fresh, cached);
+        assertEquals(first.isThreePrimePartial(), second.isThreePrimePartial());
+        assertEquals(first.getFixes(), second.getFixes());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testFixOptionsArePartOfTheKey() throws TranslationException {
+        TranslationCache cache = new TranslationCache(10);
+
+        Translator strict = createTranslator(11);
+        TranslationResult strictResult = strict.translate("ATGAAACCC".getBytes(), cache);
+
+        Translator fixing = createTranslator(11);
+        fixing.enableAllFixes();
+        TranslationResult fixingResult = fixing.translate("ATGAAACCC".getBytes(), cache);
+
+        assertTrue(strictResult.hasErrors());
+        assertTrue(fixingResult.isValid());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws TranslationException {
+        TranslationCache cache = new TranslationCache(2);
+
+        createTranslator(11).translate("ATGAAATAG".getBytes(), cache);
+        createTranslator(11).translate("ATGCCCTAG".getBytes(), cache);
+        createTranslator(11).translate("ATGGGGTAG".getBytes(), cache);
+        createTranslator(11).translate("ATGAAATAG".getBytes(), cache);
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testRejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TranslationCache(0));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+public class AsyncGzipOutputStreamTest {
+
+    @Test
+    public void compressedOutputRoundTrips() throws Exception {
+        byte[] data = new byte[100_000];
+        new Random(7).nextBytes(data);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        // A small chunk size forces many hand-overs, mixing single-byte and array writes.
+        try (AsyncGzipOutputStream out = new AsyncGzipOutputStream(target, 1000)) {
+            out.write(data[0]);
+            out.write(data, 1, 49_999);
+            out.flush();
+            out.write(data, 50_000, 50_000);
+        }
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(target.toByteArray()))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void emptyStreamIsValidGzip() throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        new AsyncGzipOutputStream(target, 16).close();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(target.toByteArray()))) {
+            assertEquals(0, in.readAllBytes().length);
+        }
+    }
+
+    @Test
+    public void targetFailureIsRethrownToProducer() throws Exception {
+        OutputStream failing = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                // Let the gzip header through, then fail.
+                written += len;
+                if (written > 10) {
+                    throw new IOException("disk full");
+                }
+            }
+        };
+        byte[] data = new byte[64];
+        new Random(7).nextBytes(data);
+
+        AsyncGzipOutputStream out = new AsyncGzipOutputStream(failing, 8);
+        IOException thrown = assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 1000; i++) {
+                out.write(data);
+            }
+            out.close();
+        });
+        assertEquals("disk full", thrown.getCause().getMessage());
+    }
+}
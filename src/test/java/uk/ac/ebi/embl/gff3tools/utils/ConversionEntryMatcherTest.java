@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConversionEntryMatcherTest {
+
+    private final ConversionEntry plain = new ConversionEntry("SO:0000655", "ncRNA", "ncRNA");
+    private final ConversionEntry snoRna =
+            new ConversionEntry("SO:0000275", "snoRNA", "ncRNA", "/ncRNA_class=\"snoRNA\"");
+    private final ConversionEntry otherRna =
+            new ConversionEntry("SO:0000655", "ncRNA", "ncRNA", "/ncRNA_class=\"other\"");
+    private final ConversionEntry otherRnaWithNote =
+            new ConversionEntry("SO:0002247", "sncRNA", "ncRNA", "/ncRNA_class=\"other\"", "/note=\"sncRNA\"");
+    private final ConversionEntry transposon = new ConversionEntry(
+            "SO:0000101", "transposable_element", "mobile_element", "/mobile_element_type=\"transposon*\"");
+    private final ConversionEntry namedRepeat =
+            new ConversionEntry("SO:0000657", "repeat_region", "repeat_region", "/rpt_family=\"<NAME>\"");
+
+    @Test
+    void selectsExactMatchIgnoringCase() {
+        ConversionEntryMatcher matcher = new ConversionEntryMatcher(List.of(plain, snoRna, otherRna));
+
+        assertSame(snoRna, matcher.bestMatch(valuesOf(Map.of("ncRNA_class", List.of("SNORNA")))));
+        assertSame(otherRna, matcher.bestMatch(valuesOf(Map.of("ncRNA_class", List.of("miRNA", "other")))));
+    }
+
+    @Test
+    void prefersTheMatchWithMostQualifiers() {
+        ConversionEntryMatcher matcher = new ConversionEntryMatcher(List.of(otherRna, otherRnaWithNote));
+
+        assertSame(
+                otherRnaWithNote,
+                matcher.bestMatch(valuesOf(Map.of("ncRNA_class", List.of("other"), "note", List.of("sncRNA")))));
+        assertSame(otherRna, matcher.bestMatch(valuesOf(Map.of("ncRNA_class", List.of("other")))));
+    }
+
+    @Test
+    void prefersTheEarlierMatchOnTies() {
+        ConversionEntry first = new ConversionEntry("SO:1", "first", "ncRNA", "/ncRNA_class=\"other\"");
+        ConversionEntry second = new ConversionEntry("SO:2", "second", "ncRNA", "/ncRNA_class=\"OTHER\"");
+
+        assertSame(
+                first,
+                new ConversionEntryMatcher(List.of(first, second))
+                        .bestMatch(valuesOf(Map.of("ncRNA_class", List.of("other")))));
+        assertSame(
+                second,
+                new ConversionEntryMatcher(List.of(second, first))
+                        .bestMatch(valuesOf(Map.of("ncRNA_class", List.of("other")))));
+    }
+
+    @Test
+    void matchesWildcardCandidates() {
+        ConversionEntryMatcher matcher = new ConversionEntryMatcher(List.of(transposon, namedRepeat));
+
+        assertSame(transposon, matcher.bestMatch(valuesOf(Map.of("mobile_element_type", List.of("Transposon:Tn5")))));
+        assertSame(namedRepeat, matcher.bestMatch(valuesOf(Map.of("rpt_family", List.of("Alu")))));
+        assertNull(matcher.bestMatch(valuesOf(Map.of("rpt_family", List.of("")))));
+    }
+
+    @Test
+    void fallsBackToTheFirstCandidateWithoutQualifiers() {
+        ConversionEntryMatcher matcher = new ConversionEntryMatcher(List.of(snoRna, plain, otherRna));
+
+        // A candidate without qualifiers matches anything
+        assertSame(plain, matcher.bestMatch(valuesOf(Map.of("ncRNA_class", List.of("miRNA")))));
+
+        ConversionEntryMatcher withoutPlain = new ConversionEntryMatcher(List.of(snoRna, otherRna));
+        assertNull(withoutPlain.bestMatch(valuesOf(Map.of())));
+        assertSame(snoRna, withoutPlain.select(valuesOf(Map.of())));
+    }
+
+    @Test
+    void valuePatternsMatchLikeTheMappingTable() {
+        assertTrue(ConversionEntryMatcher.ValuePattern.compile("snoRNA").isExact());
+        assertFalse(ConversionEntryMatcher.ValuePattern.compile("transposon*").isExact());
+
+        assertTrue(ConversionEntryMatcher.ValuePattern.compile("transposon*").matches("transposon"));
+        assertTrue(ConversionEntryMatcher.ValuePattern.compile("PREFIX:<NAME>").matches("prefix:x"));
+        assertFalse(ConversionEntryMatcher.ValuePattern.compile("prefix:<NAME>").matches("prefix:"));
+        assertTrue(ConversionEntryMatcher.ValuePattern.compile("Straße*").matches("STRAßE 1"));
+    }
+
+    private static ConversionEntryMatcher.QualifierValues valuesOf(Map<String, List<String>> values) {
+        return values::get;
+    }
+}
@@ -13,6 +13,7 @@ package uk.ac.ebi.embl.gff3tools.utils;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -113,4 +114,39 @@ public class OntologyClientTest {
         boolean result = ontologyClient.isSelfOrDescendantOf("SO:0000110", "SO:0001675");
         assertFalse(result);
     }
+
+    @Test
+    public void testIsSelfOrDescendantOf_whenIndirectDescendant_shouldReturnTrue() {
+        // spliceosomal_intron is an intron, which is several levels below sequence_feature
+        assertTrue(ontologyClient.isSelfOrDescendantOf(OntologyTerm.SPLICEOSOMAL_INTRON.ID, OntologyTerm.FEATURE.ID));
+        assertFalse(ontologyClient.isSelfOrDescendantOf(OntologyTerm.FEATURE.ID, OntologyTerm.SPLICEOSOMAL_INTRON.ID));
+    }
+
+    @Test
+    public void testIsSelfOrDescendantOf_whenTermUnknown_shouldReturnFalse() {
+        assertFalse(ontologyClient.isSelfOrDescendantOf("SO:9999999", OntologyTerm.FEATURE.ID));
+        assertFalse(ontologyClient.isSelfOrDescendantOf(OntologyTerm.CDS.ID, "SO:9999999"));
+    }
+
+    @Test
+    public void testIsValidOntologyId() {
+        assertTrue(ontologyClient.isValidOntologyId("SO:0000316"));
+        assertFalse(ontologyClient.isValidOntologyId("SO:000031"));
+        assertFalse(ontologyClient.isValidOntologyId("SO:00003160"));
+        assertFalse(ontologyClient.isValidOntologyId("SO:000031a"));
+        assertFalse(ontologyClient.isValidOntologyId("so:0000316"));
+        assertFalse(ontologyClient.isValidOntologyId("CDS"));
+        assertFalse(ontologyClient.isValidOntologyId(null));
+    }
+
+    @Test
+    public void testGetParents() {
+        List<String> parents = ontologyClient.getParents(OntologyTerm.SPLICEOSOMAL_INTRON.ID).toList();
+        assertTrue(parents.contains(OntologyTerm.INTRON.ID));
+        assertTrue(parents.contains(OntologyTerm.FEATURE.ID));
+        assertFalse(parents.contains(OntologyTerm.SPLICEOSOMAL_INTRON.ID));
+
+        assertEquals(parents, ontologyClient.getParents("spliceosomal_intron").toList());
+        assertEquals(List.of(), ontologyClient.getParents("SO:9999999").toList());
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+class OrderedTaskWindowTest {
+
+    @Test
+    void returnsResultsInSubmissionOrder() throws Exception {
+        List<Integer> results = new ArrayList<>();
+        try (OrderedTaskWindow<Integer> window = new OrderedTaskWindow<>(4, 8, "test")) {
+            int next = 0;
+            while (next < 100 || !window.isEmpty()) {
+                while (!window.isFull() && next < 100) {
+                    int value = next++;
+                    // Later tasks finish first, so the order comes from the window and not the pool.
+                    window.submit(() -> {
+                        Thread.sleep(value % 8 == 0 ? 5 : 0);
+                        return value;
+                    });
+                }
+                results.add(window.next());
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    void rejectsSubmitWhenFullAndRethrowsTaskFailure() {
+        try (OrderedTaskWindow<Integer> window = new OrderedTaskWindow<>(1, 1, "test")) {
+            window.submit(() -> {
+                throw new IllegalArgumentException("bad input");
+            });
+            assertTrue(window.isFull());
+            assertThrows(IllegalStateException.class, () -> window.submit(() -> 1));
+
+            ExecutionException e = assertThrows(ExecutionException.class, window::next);
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertTrue(window.isEmpty());
+        }
+    }
+}
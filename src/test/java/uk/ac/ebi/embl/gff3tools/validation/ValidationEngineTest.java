@@ -555,4 +555,42 @@ public class ValidationEngineTest {
         // Error was collected
         assertEquals(1, collectEngine.getCollectedErrors().size());
     }
+
+    @Test
+    @DisplayName("Validate resolves enablement once and never invokes disabled rules or rules for another type")
+    void testValidate_skipsDisabledRulesWithoutConsultingConfigAgain() throws Exception {
+        ValidatorDescriptor normalFix = new ValidatorDescriptor(
+                NormalFix.class,
+                new NormalFix(),
+                NormalFix.class.getDeclaredMethod("fix", GFF3Feature.class, int.class),
+                ValidationPriority.NORMAL);
+        ValidatorDescriptor criticalVal = new ValidatorDescriptor(
+                CriticalValidation.class,
+                new CriticalValidation(),
+                CriticalValidation.class.getDeclaredMethod("validate", GFF3Feature.class, int.class),
+                ValidationPriority.CRITICAL);
+        ValidatorDescriptor normalVal = new ValidatorDescriptor(
+                NormalValidation.class,
+                new NormalValidation(),
+                NormalValidation.class.getDeclaredMethod("validate", GFF3Feature.class, int.class),
+                ValidationPriority.NORMAL);
+
+        when(validationRegistry.getFixesByPriority()).thenReturn(Map.of(ValidationPriority.NORMAL, List.of(normalFix)));
+        when(validationRegistry.getValidationsByPriority())
+                .thenReturn(Map.of(
+                        ValidationPriority.CRITICAL, List.of(criticalVal),
+                        ValidationPriority.NORMAL, List.of(normalVal)));
+        when(validationConfig.getFix("FIX_NORMAL", true)).thenReturn(false);
+        when(validationConfig.getSeverity("VAL_CRITICAL", RuleSeverity.ERROR)).thenReturn(RuleSeverity.OFF);
+        when(validationConfig.getSeverity("VAL_NORMAL", RuleSeverity.ERROR)).thenReturn(RuleSeverity.ERROR);
+
+        GFF3Feature feature = TestUtils.createGFF3Feature("gene", "parent", new HashMap<>());
+        engine.validate(feature, 1);
+        engine.validate(feature, 2);
+        engine.validate(new GFF3Annotation(), 3);
+
+        assertEquals(List.of("VAL_NORMAL", "VAL_NORMAL"), executionLog);
+        verify(validationConfig, times(1)).getSeverity("VAL_NORMAL", RuleSeverity.ERROR);
+        verify(validationConfig, times(1)).getFix("FIX_NORMAL", true);
+    }
 }
@@ -74,7 +74,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenRequiredFeatureIsPresent() {
             GFF3Feature feature = feature("ribosomal RNA");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("rRNA")));
             when(ontologyClient.findTermByNameOrSynonym("ribosomal RNA")).thenReturn(Optional.of(OntologyTerm.RRNA.ID));
             when(ontologyClient.isSelfOrDescendantOf(OntologyTerm.RRNA.ID, OntologyTerm.RRNA.ID))
@@ -86,7 +86,7 @@ class MoleculeTypeValidationTest {
         @Test
         void throwsValidationExceptionWhenRequiredFeatureIsMissing() {
             GFF3Feature feature = feature("gene");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("tRNA")));
             when(ontologyClient.findTermByNameOrSynonym("gene")).thenReturn(Optional.of(OntologyTerm.GENE.ID));
             when(ontologyClient.isSelfOrDescendantOf(OntologyTerm.GENE.ID, OntologyTerm.TRNA.ID))
@@ -107,7 +107,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenEntryIsNotMrna() {
             GFF3Feature complementCds = feature("CDS", true);
-            when(annotation.getFeatures()).thenReturn(List.of(complementCds));
+            when(annotation.getFeaturesView()).thenReturn(List.of(complementCds));
             when(fastaHeaderProvider.getHeader(ACCESSION))
                     .thenReturn(Optional.of(headerWithMoleculeType("genomic DNA")));
 
@@ -117,7 +117,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenMrnaCdsIsNotComplement() {
             GFF3Feature cds = feature("CDS", false);
-            when(annotation.getFeatures()).thenReturn(List.of(cds));
+            when(annotation.getFeaturesView()).thenReturn(List.of(cds));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("mRNA")));
             when(ontologyClient.findTermByNameOrSynonym("CDS")).thenReturn(Optional.of(OntologyTerm.CDS.ID));
 
@@ -127,7 +127,7 @@ class MoleculeTypeValidationTest {
         @Test
         void throwsValidationExceptionWhenMrnaCdsIsComplement() {
             GFF3Feature complementCds = feature("CDS", true);
-            when(annotation.getFeatures()).thenReturn(List.of(complementCds));
+            when(annotation.getFeaturesView()).thenReturn(List.of(complementCds));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("mRNA")));
             when(ontologyClient.findTermByNameOrSynonym("CDS")).thenReturn(Optional.of(OntologyTerm.CDS.ID));
 
@@ -146,7 +146,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenMoleculeTypeHasNoForbiddenFeatures() {
             GFF3Feature feature = feature("CDS");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION))
                     .thenReturn(Optional.of(headerWithMoleculeType("genomic DNA")));
 
@@ -156,7 +156,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenFeatureIsPermittedForTheMoleculeType() {
             GFF3Feature feature = feature("CDS");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("mRNA")));
             when(ontologyClient.findTermByNameOrSynonym("CDS")).thenReturn(Optional.of(OntologyTerm.CDS.ID));
 
@@ -166,7 +166,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenRrnaFeatureIsOnRrnaMoleculeType() {
             GFF3Feature feature = feature("rRNA");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("rRNA")));
             when(ontologyClient.findTermByNameOrSynonym("rRNA")).thenReturn(Optional.of(OntologyTerm.RRNA.ID));
 
@@ -176,7 +176,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenGeneFeatureIsOnMrnaMoleculeType() {
             GFF3Feature feature = feature("gene");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("mRNA")));
             when(ontologyClient.findTermByNameOrSynonym("gene")).thenReturn(Optional.of(OntologyTerm.GENE.ID));
 
@@ -186,7 +186,7 @@ class MoleculeTypeValidationTest {
         @Test
         void doesNothingWhenFeatureNameIsNotFoundInTheOntology() {
             GFF3Feature feature = feature("not_a_so_term");
-            when(annotation.getFeatures()).thenReturn(List.of(feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(feature));
             when(fastaHeaderProvider.getHeader(ACCESSION)).thenReturn(Optional.of(headerWithMoleculeType("rRNA")));
             when(ontologyClient.findTermByNameOrSynonym("not_a_so_term")).thenReturn(Optional.empty());
 
@@ -223,7 +223,7 @@ class MoleculeTypeValidationTest {
         private void assertForbidden(
                 String moleculeType, String featureName, OntologyTerm featureTerm, OntologyTerm forbiddenParent) {
             GFF3Feature gff3Feature = feature(featureName);
-            when(annotation.getFeatures()).thenReturn(List.of(gff3Feature));
+            when(annotation.getFeaturesView()).thenReturn(List.of(gff3Feature));
             when(fastaHeaderProvider.getHeader(ACCESSION))
                     .thenReturn(Optional.of(headerWithMoleculeType(moleculeType)));
             when(ontologyClient.findTermByNameOrSynonym(featureName)).thenReturn(Optional.of(featureTerm.ID));
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import uk.ac.ebi.embl.gff3tools.TestUtils;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Annotation;
+import uk.ac.ebi.embl.gff3tools.gff3.GFF3Feature;
+
+class AnnotationFeatureIndexTest {
+
+    @Test
+    void cdsGroups_groupsSegmentsSharingAnId() {
+        GFF3Feature first = TestUtils.createGFF3Feature("CDS", 1, 90);
+        GFF3Feature second = TestUtils.createGFF3Feature("CDS", 200, 290);
+        GFF3Feature gene = TestUtils.createGFF3Feature("gene", 1, 290);
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setFeatures(new ArrayList<>(List.of(first, gene, second)));
+
+        Map<String, List<GFF3Feature>> groups = new AnnotationFeatureIndex().cdsGroups(annotation);
+
+        assertEquals(List.of("CDS"), List.copyOf(groups.keySet()));
+        assertEquals(List.of(first, second), groups.get("CDS"));
+        assertThrows(UnsupportedOperationException.class, () -> groups.get("CDS").clear());
+    }
+
+    @Test
+    void cdsGroups_reusedUntilFeaturesChange() {
+        GFF3Feature cds = TestUtils.createGFF3Feature("CDS", 1, 90);
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setFeatures(new ArrayList<>(List.of(cds)));
+        AnnotationFeatureIndex index = new AnnotationFeatureIndex();
+
+        Map<String, List<GFF3Feature>> groups = index.cdsGroups(annotation);
+        cds.addAttribute("translation", "MK");
+        assertSame(groups, index.cdsGroups(annotation));
+
+        annotation.removeFeature(cds);
+        assertTrue(index.cdsGroups(annotation).isEmpty());
+    }
+
+    @Test
+    void cdsGroups_recomputedAfterTheFeaturesListIsEditedDirectly() {
+        GFF3Feature cds = TestUtils.createGFF3Feature("CDS", 1, 90);
+        GFF3Annotation annotation = new GFF3Annotation();
+        annotation.setFeatures(new ArrayList<>(List.of(cds)));
+        AnnotationFeatureIndex index = new AnnotationFeatureIndex();
+        assertEquals(1, index.cdsGroups(annotation).size());
+
+        annotation.getFeatures().clear();
+
+        assertTrue(index.cdsGroups(annotation).isEmpty());
+    }
+
+    @Test
+    void cdsGroups_recomputedForAnotherAnnotation() {
+        GFF3Annotation first = new GFF3Annotation();
+        first.setFeatures(new ArrayList<>(List.of(TestUtils.createGFF3Feature("CDS", 1, 90))));
+        GFF3Annotation second = new GFF3Annotation();
+        second.setFeatures(new ArrayList<>());
+        AnnotationFeatureIndex index = new AnnotationFeatureIndex();
+
+        assertEquals(1, index.cdsGroups(first).size());
+        assertTrue(index.cdsGroups(second).isEmpty());
+    }
+}
@@ -19,10 +19,14 @@ import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -156,6 +160,81 @@ class FileSequenceSourceTest {
         source.close();
     }
 
+    @Test
+    void memoryMappedSourceServesSameSlicesAsStreamSource() throws Exception {
+        String content = ">seq1 | {\"description\":\"test\"}\nACGTA\nCGTAC\nGG\n"
+                + ">seq2 | {\"description\":\"test\"}\nTTTTGGGG\nCC\n";
+        Path fasta = Files.writeString(tempDir.resolve("mapped.fasta"), content);
+        FileSequenceSource streamed = new FileSequenceSource(fasta, SequenceFormat.fasta, null);
+        FileSequenceSource mapped = new FileSequenceSource(fasta, SequenceFormat.fasta, null, true);
+
+        for (String seqId : List.of("seq1", "seq2")) {
+            long length = streamed.getSequenceLength(seqId, SequenceRangeOption.WHOLE_SEQUENCE);
+            assertEquals(length, mapped.getSequenceLength(seqId, SequenceRangeOption.WHOLE_SEQUENCE));
+            for (long from = 1; from <= length; from++) {
+                for (long to = from; to <= length; to++) {
+                    assertEquals(
+                            streamed.getSequenceSlice(seqId, from, to, SequenceRangeOption.WHOLE_SEQUENCE),
+                            mapped.getSequenceSlice(seqId, from, to, SequenceRangeOption.WHOLE_SEQUENCE));
+                }
+            }
+        }
+
+        streamed.close();
+        mapped.close();
+    }
+
+    @Test
+    void memoryMappedGapScanMatchesStreamGapScan() throws Exception {
+        String content = ">seq1 | {\"description\":\"test\"}\nNNACG\nTnnnn\nNGTNN\n"
+                + ">seq2 | {\"description\":\"test\"}\nACGTA\nCGT\n";
+        Path fasta = Files.writeString(tempDir.resolve("gaps.fasta"), content);
+        FileSequenceSource streamed = new FileSequenceSource(fasta, SequenceFormat.fasta, null);
+        FileSequenceSource mapped = new FileSequenceSource(fasta, SequenceFormat.fasta, null, true);
+
+        assertFalse(streamed.supportsConcurrentScans());
+        assertTrue(mapped.supportsConcurrentScans());
+        for (String seqId : List.of("seq1", "seq2")) {
+            FileSequenceSource.GapScan expected = streamed.scanGaps(seqId);
+            FileSequenceSource.GapScan actual = mapped.scanGaps(seqId);
+            assertEquals(expected.length(), actual.length());
+            assertEquals(gapBounds(expected.gaps()), gapBounds(actual.gaps()));
+        }
+        assertEquals(List.of("1-2", "7-11", "14-15"), gapBounds(mapped.scanGaps("seq1").gaps()));
+
+        streamed.close();
+        mapped.close();
+    }
+
+    @Test
+    void concurrentReadersSeeConsistentSlices() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            content.append(">seq").append(i).append(" | {\"description\":\"test\"}\n");
+            content.append("ACGTACGTAC\n".repeat(i + 1));
+        }
+        Path fasta = Files.writeString(tempDir.resolve("concurrent.fasta"), content.toString());
+
+        for (boolean memoryMapped : List.of(false, true)) {
+            FileSequenceSource source = new FileSequenceSource(fasta, SequenceFormat.fasta, null, memoryMapped);
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    String seqId = "seq" + (i % 20);
+                    results.add(pool.submit(
+                            () -> source.getSequenceSlice(seqId, 3, 10, SequenceRangeOption.WHOLE_SEQUENCE)));
+                }
+                for (Future<String> result : results) {
+                    assertEquals("GTACGTAC", result.get());
+                }
+            } finally {
+                pool.shutdown();
+                source.close();
+            }
+        }
+    }
+
     @Test
     void corruptGzipDoesNotCreateDecompressedFile() throws Exception {
         Path corruptGz = tempDir.resolve("corrupt.gz");
@@ -195,6 +274,38 @@ class FileSequenceSourceTest {
         assertTrue(ex.getMessage().contains("Duplicate submission ID"));
     }
 
+    @Test
+    void fastaHeaderJsonIsParsedOnFirstAccess() {
+        SequenceFormatReader mockReader = mock(SequenceFormatReader.class);
+        when(mockReader.getSequenceFileFormat()).thenReturn(SequenceFileFormat.FASTA);
+        when(mockReader.getOrderedIds()).thenReturn(List.of(0L, 1L));
+        when(mockReader.getHeaderline(0L)).thenReturn(Optional.of(">seq1|{\"description\":\"first\"}"));
+        when(mockReader.getHeaderline(1L)).thenReturn(Optional.of(">seq2|{not json"));
+
+        FileSequenceSource source = new FileSequenceSource(mockReader, SequenceFormat.fasta, null);
+
+        // Only the ID token is read eagerly, so a malformed JSON body does not fail indexing.
+        assertTrue(source.hasSequence("seq2"));
+        Map<String, FastaHeader> headerMap = source.getSeqIdToHeader();
+        assertEquals("first", headerMap.get("seq1").getDescription());
+        assertSame(headerMap.get("seq1"), source.getSeqIdToHeader().get("seq1"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> headerMap.get("seq2"));
+        assertTrue(ex.getMessage().contains("Failed to parse FASTA header at ordinal 1"));
+    }
+
+    @Test
+    void getSeqIdToOrdinalReturnsInsertionOrderedMapping() {
+        SequenceFormatReader mockReader = mockFastaReader("seq1", "seq2", "seq3");
+        FileSequenceSource source = new FileSequenceSource(mockReader, SequenceFormat.fasta, null);
+
+        Map<String, Long> ordinals = source.getSeqIdToOrdinal();
+
+        assertEquals(List.of("seq1", "seq2", "seq3"), List.copyOf(ordinals.keySet()));
+        assertEquals(2L, ordinals.get("seq3"));
+        assertNull(ordinals.get("seq4"));
+    }
+
     @Test
     void getSequenceLengthDelegatesForFasta() throws Exception {
         SequenceFormatReader mockReader = mockFastaReader("seq1");
@@ -275,13 +386,21 @@ class FileSequenceSourceTest {
     @Test
     void getSequenceSliceReaderDelegatesForFasta() throws Exception {
         SequenceFormatReader mockReader = mockFastaReader("seq1");
-        Reader expected = new StringReader("ATGAAA");
+        Reader delegate = spy(new StringReader("ATGAAA"));
         when(mockReader.getSequenceSliceReader(
                         0L, 1L, 6L, uk.ac.ebi.embl.fastareader.SequenceRangeOption.WHOLE_SEQUENCE))
-                .thenReturn(expected);
+                .thenReturn(delegate);
 
         FileSequenceSource source = new FileSequenceSource(mockReader, SequenceFormat.fasta, null);
-        assertSame(expected, source.getSequenceSliceReader("seq1", 1L, 6L, SequenceRangeOption.WHOLE_SEQUENCE));
+        Reader slice = source.getSequenceSliceReader("seq1", 1L, 6L, SequenceRangeOption.WHOLE_SEQUENCE);
+
+        // The shared reader's slice is drained and closed before the source hands anything back.
+        verify(delegate).close();
+        StringBuilder bases = new StringBuilder();
+        for (int c; (c = slice.read()) != -1; ) {
+            bases.append((char) c);
+        }
+        assertEquals("ATGAAA", bases.toString());
     }
 
     // --- WITHOUT_EDGE_N_BASES option tests ---
@@ -367,7 +486,7 @@ class FileSequenceSourceTest {
         SequenceFormatReader reader = mock(SequenceFormatReader.class);
         when(reader.getSequenceFileFormat()).thenReturn(SequenceFileFormat.FASTA);
 
-        List<Long> ordinals = new java.util.ArrayList<>();
+        List<Long> ordinals = new ArrayList<>();
         for (int i = 0; i < seqIds.length; i++) {
             long ordinal = i;
             ordinals.add(ordinal);
@@ -385,4 +504,8 @@ class FileSequenceSourceTest {
         }
         return tempFile;
     }
+
+    private static List<String> gapBounds(List<GapRegion> gaps) {
+        return gaps.stream().map(gap -> gap.startBase + "-" + gap.endBase).toList();
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFastaIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void slicesAcrossWrappedLines() throws IOException {
+        MappedFastaIndex index = open(">seq1 | {}\nACGTA\nCGTAC\nGG\n>seq2\nTTTT\n");
+
+        assertEquals(2, index.size());
+        assertEquals(12, index.length(0));
+        assertEquals("ACGTACGTACGG", index.getSlice(0, 1, 12));
+        assertEquals("TACG", index.getSlice(0, 4, 7));
+        assertEquals("G", index.getSlice(0, 12, 12));
+        assertEquals("TT", index.getSlice(1, 2, 3));
+    }
+
+    @Test
+    void handlesCrLfAndMissingFinalNewline() throws IOException {
+        MappedFastaIndex index = open(">seq1\r\nAAAA\r\nCC\r\n>seq2\nACGT\nACGT");
+
+        assertTrue(index.isRegular(0));
+        assertEquals("AACC", index.getSlice(0, 3, 6));
+        assertTrue(index.isRegular(1));
+        assertEquals("CGTACGT", index.getSlice(1, 2, 8));
+    }
+
+    @Test
+    void marksIrregularlyWrappedRecords() throws IOException {
+        MappedFastaIndex index = open(">short-first\nAC\nACGT\n>blank-line\nACGT\n\nACGT\n>ok\nACGT\n");
+
+        assertFalse(index.isRegular(0));
+        assertFalse(index.isRegular(1));
+        assertTrue(index.isRegular(2));
+        assertThrows(IllegalStateException.class, () -> index.getSlice(0, 1, 2));
+    }
+
+    @Test
+    void rejectsOutOfRangeSlices() throws IOException {
+        MappedFastaIndex index = open(">seq1\nACGT\n");
+
+        assertThrows(IllegalArgumentException.class, () -> index.getSlice(0, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> index.getSlice(0, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> index.getSlice(0, 2, 5));
+    }
+
+    @Test
+    void headerEqualsComparesWholeHeaderLine() throws IOException {
+        MappedFastaIndex index = open(">seq1 | {\"description\":\"test\"}\r\nACGT\n");
+
+        assertTrue(index.headerEquals(0, ">seq1 | {\"description\":\"test\"}"));
+        assertFalse(index.headerEquals(0, ">seq1"));
+        assertFalse(index.headerEquals(0, null));
+    }
+
+    @Test
+    void gapRegionsSpanWrappedLinesAndBothCases() throws IOException {
+        MappedFastaIndex index = open(">seq1\nNNACG\nTnnnn\nNGTNN\n>seq2\nACGT\n");
+
+        List<String> gaps = index.getGapRegions(0).stream()
+                .map(gap -> gap.startBase + "-" + gap.endBase)
+                .toList();
+        assertEquals(List.of("1-2", "7-11", "14-15"), gaps);
+        assertTrue(index.getGapRegions(1).isEmpty());
+    }
+
+    @Test
+    void sliceReaderStreamsTheSameBases() throws IOException {
+        MappedFastaIndex index = open(">seq1\nACGTA\nCGTAC\nGG\n");
+
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[3];
+        try (Reader reader = index.getSliceReader(0, 2, 11)) {
+            int n;
+            while ((n = reader.read(buffer, 0, buffer.length)) > 0) {
+                sb.append(buffer, 0, n);
+            }
+        }
+        assertEquals(index.getSlice(0, 2, 11), sb.toString());
+    }
+
+    private MappedFastaIndex open(String content) throws IOException {
+        Path fasta = Files.writeString(tempDir.resolve("test-%d.fasta".formatted(System.nanoTime())), content);
+        return MappedFastaIndex.open(fasta);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 EMBL - European Bioinformatics Institute
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this
+ * file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package uk.ac.ebi.embl.gff3tools.validation.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SeqIdOrdinalIndexTest {
+
+    @Test
+    void addAndLookupAcrossGrowth() {
+        SeqIdOrdinalIndex index = new SeqIdOrdinalIndex(2);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(index.add("seq" + i, i * 10L));
+        }
+
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            int position = index.indexOf("seq" + i);
+            assertEquals(i, position);
+            assertEquals("seq" + i, index.seqIdAt(position));
+            assertEquals(i * 10L, index.ordinalAt(position));
+        }
+        assertEquals(SeqIdOrdinalIndex.NOT_FOUND, index.indexOf("missing"));
+        assertEquals(SeqIdOrdinalIndex.NOT_FOUND, index.indexOf(null));
+    }
+
+    @Test
+    void addRejectsDuplicateIds() {
+        SeqIdOrdinalIndex index = new SeqIdOrdinalIndex();
+
+        assertTrue(index.add("chr1", 0L));
+        assertFalse(index.add("chr1", 1L));
+        assertEquals(1, index.size());
+        assertEquals(0L, index.ordinalAt(index.indexOf("chr1")));
+    }
+
+    @Test
+    void mapViewIsReadOnlyAndInsertionOrdered() {
+        SeqIdOrdinalIndex index = new SeqIdOrdinalIndex();
+        index.add("b", 5L);
+        index.add("a", 7L);
+
+        Map<String, Long> map = index.asMap();
+
+        assertEquals(Map.of("a", 7L, "b", 5L), map);
+        assertEquals("b", map.keySet().iterator().next());
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey(1L));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", 1L));
+    }
+}
@@ -12,6 +12,8 @@ package uk.ac.ebi.embl.gff3tools.validation.provider;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class TranslationStateTest {
@@ -54,4 +56,25 @@ class TranslationStateTest {
         assertNull(entry.oldTranslation());
         assertEquals("NEW", entry.newTranslation());
     }
+
+    @Test
+    void drainResolvedStopsAtFirstIncompleteKeyAndPreservesOrder() {
+        TranslationState state = new TranslationState();
+        state.record("seq1|cds-1", "OLD1", null);
+        state.record("seq1|cds-2", null, "NEW2");
+        state.record("seq2|cds-3", null, "NEW3");
+        state.record("seq1|cds-4", null, null);
+        state.record("seq1|cds-5", "OLD5", "NEW5");
+
+        List<String> drained = new ArrayList<>();
+        state.drainResolved(key -> key.startsWith("seq1|"), (key, translation) -> drained.add(key + "=" + translation));
+        assertEquals(List.of("seq1|cds-1=OLD1", "seq1|cds-2=NEW2"), drained);
+        assertNull(state.get("seq1|cds-1"));
+        assertNotNull(state.get("seq2|cds-3"));
+
+        drained.clear();
+        state.drainResolved(key -> true, (key, translation) -> drained.add(key + "=" + translation));
+        assertEquals(List.of("seq2|cds-3=NEW3", "seq1|cds-5=NEW5"), drained);
+        assertNull(state.get("seq1|cds-4"));
+    }
 }